@@ -0,0 +1,35 @@
+package com.resume.builder.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Serves the bulk import endpoint from its own dispatcher servlet, since upload limits are set per
+ * servlet: bulk requests may be far larger than the application-wide multipart limits allow, which
+ * keep applying to every other endpoint. The servlet shares the application context, so the same
+ * controller handles the request.
+ */
+@Configuration
+public class BulkUploadConfig {
+
+    private static final String BULK_UPLOAD_PATH = "/api/resumes/bulk-upload";
+
+    @Bean
+    public ServletRegistrationBean<DispatcherServlet> bulkUploadServlet(
+            WebApplicationContext context,
+            @Value("${resume.import.max-file-size:100MB}") DataSize maxFileSize,
+            @Value("${resume.import.max-request-size:200MB}") DataSize maxRequestSize) {
+        ServletRegistrationBean<DispatcherServlet> registration =
+            new ServletRegistrationBean<>(new DispatcherServlet(context), BULK_UPLOAD_PATH);
+        registration.setName("bulkUploadDispatcherServlet");
+        registration.setMultipartConfig(
+            new MultipartConfigElement(null, maxFileSize.toBytes(), maxRequestSize.toBytes(), 0));
+        return registration;
+    }
+}
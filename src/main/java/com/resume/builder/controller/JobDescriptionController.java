@@ -1,8 +1,16 @@
 package com.resume.builder.controller;
 
+import com.resume.builder.dto.CacheStatsDTO;
+import com.resume.builder.dto.CandidateRankingDTO;
+import com.resume.builder.dto.DuplicateClusterDTO;
+import com.resume.builder.dto.DuplicateMergeRequestDTO;
+import com.resume.builder.dto.SemanticCandidateDTO;
 import com.resume.builder.model.JobDescription;
 import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.service.CandidateRankingService;
+import com.resume.builder.service.DuplicateDetectionService;
 import com.resume.builder.service.JDAnalyzerService;
+import com.resume.builder.service.MatchResultService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/job-descriptions")
@@ -21,6 +30,9 @@ public class JobDescriptionController {
 
     private final JobDescriptionRepository jobDescriptionRepository;
     private final JDAnalyzerService jdAnalyzerService;
+    private final CandidateRankingService candidateRankingService;
+    private final MatchResultService matchResultService;
+    private final DuplicateDetectionService duplicateDetectionService;
 
     @PostMapping
     public ResponseEntity<JobDescription> createJobDescription(@RequestBody Map<String, String> request) {
@@ -39,6 +51,31 @@ public class JobDescriptionController {
         return ResponseEntity.ok(jds);
     }
 
+    @GetMapping("/analysis-cache/stats")
+    public ResponseEntity<CacheStatsDTO> getAnalysisCacheStats() {
+        return ResponseEntity.ok(jdAnalyzerService.getAnalysisCacheStats());
+    }
+
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClusters() {
+        return ResponseEntity.ok(duplicateDetectionService.jobDescriptionClusters());
+    }
+
+    @PostMapping("/duplicates/merge")
+    public ResponseEntity<JobDescription> mergeDuplicates(@RequestBody DuplicateMergeRequestDTO request) {
+        if (request.getKeepId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return duplicateDetectionService.mergeJobDescriptions(request.getKeepId(), request.getDuplicateIds())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected duplicate merge into job description {}: {}", request.getKeepId(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<JobDescription> getJobDescription(@PathVariable Long id) {
         return jobDescriptionRepository.findById(id)
@@ -46,6 +83,39 @@ public class JobDescriptionController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/candidates")
+    public ResponseEntity<CandidateRankingDTO> rankCandidates(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Optional<JobDescription> jd = jobDescriptionRepository.findById(id);
+        if (jd.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(candidateRankingService.rankResumes(jd.get(), page, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected candidate ranking request for job description {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/semantic-candidates")
+    public ResponseEntity<List<SemanticCandidateDTO>> findSemanticCandidates(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int size) {
+        Optional<JobDescription> jd = jobDescriptionRepository.findById(id);
+        if (jd.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(candidateRankingService.semanticCandidates(jd.get(), size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected semantic candidate request for job description {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<JobDescription> updateJobDescription(
             @PathVariable Long id, 
@@ -72,6 +142,7 @@ public class JobDescriptionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJobDescription(@PathVariable Long id) {
         if (jobDescriptionRepository.existsById(id)) {
+            matchResultService.deleteForJobDescription(id);
             jobDescriptionRepository.deleteById(id);
             return ResponseEntity.noContent().build();
         }
@@ -0,0 +1,70 @@
+package com.resume.builder.controller;
+
+import com.resume.builder.dto.MatchMatrixJobDTO;
+import com.resume.builder.dto.MatchMatrixRequestDTO;
+import com.resume.builder.service.MatchMatrixService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/match-matrix/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(originPatterns = "*")
+public class MatchMatrixController {
+
+    private final MatchMatrixService matchMatrixService;
+
+    @PostMapping
+    public ResponseEntity<MatchMatrixJobDTO> submitJob(@RequestBody(required = false) MatchMatrixRequestDTO request) {
+        MatchMatrixJobDTO job = request == null
+            ? matchMatrixService.submit(null, null, false)
+            : matchMatrixService.submit(request.getResumeIds(), request.getJobDescriptionIds(),
+                request.isSkipDuplicates());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/match-matrix/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MatchMatrixJobDTO>> getJobs() {
+        return ResponseEntity.ok(matchMatrixService.getJobs());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<MatchMatrixJobDTO> getJob(@PathVariable String jobId) {
+        return matchMatrixService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<MatchMatrixJobDTO> cancelJob(@PathVariable String jobId) {
+        try {
+            return matchMatrixService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            log.warn("Cannot cancel match matrix job {}: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<MatchMatrixJobDTO> resumeJob(@PathVariable String jobId) {
+        try {
+            return matchMatrixService.resume(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            log.warn("Cannot resume match matrix job {}: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
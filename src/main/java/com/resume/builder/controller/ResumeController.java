@@ -1,8 +1,16 @@
 package com.resume.builder.controller;
 
+import com.resume.builder.dto.BulkImportResultDTO;
+import com.resume.builder.dto.CacheStatsDTO;
+import com.resume.builder.dto.DuplicateClusterDTO;
+import com.resume.builder.dto.DuplicateMergeRequestDTO;
+import com.resume.builder.dto.JobRankingDTO;
+import com.resume.builder.dto.LiveScoreDTO;
+import com.resume.builder.dto.MatchHistoryEntryDTO;
 import com.resume.builder.dto.MatchScoreDTO;
 import com.resume.builder.dto.OptimizationSuggestionDTO;
 import com.resume.builder.dto.ResumeDTO;
+import com.resume.builder.dto.UploadJobDTO;
 import com.resume.builder.model.JobDescription;
 import com.resume.builder.model.Resume;
 import com.resume.builder.repository.JobDescriptionRepository;
@@ -16,11 +24,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/resumes")
@@ -31,17 +43,32 @@ public class ResumeController {
 
     private final ResumeParserService parserService;
     private final ResumeRepository resumeRepository;
-    private final MatchingService matchingService;
     private final OptimizationService optimizationService;
     private final PDFGeneratorService pdfGeneratorService;
     private final JobDescriptionRepository jobDescriptionRepository;
+    private final BulkImportService bulkImportService;
+    private final ResumeFingerprintService fingerprintService;
+    private final UploadJobService uploadJobService;
+    private final JobRankingService jobRankingService;
+    private final MatchResultService matchResultService;
+    private final LiveScoringService liveScoringService;
+    private final DuplicateDetectionService duplicateDetectionService;
 
     @PostMapping("/upload")
     public ResponseEntity<Resume> uploadResume(@RequestParam("file") MultipartFile file) {
         try {
             log.info("Uploading resume: {}", file.getOriginalFilename());
+            String contentHash = fingerprintService.fingerprint(file);
+            Optional<Resume> existing = fingerprintService.findExisting(contentHash);
+            if (existing.isPresent()) {
+                log.info("Resume {} already uploaded as id {}", file.getOriginalFilename(), existing.get().getId());
+                return ResponseEntity.ok(existing.get());
+            }
+            
             Resume resume = parserService.parseResume(file);
+            resume.setContentHash(contentHash);
             Resume saved = resumeRepository.save(resume);
+            fingerprintService.remember(saved);
             return ResponseEntity.ok(saved);
         } catch (IOException e) {
             log.error("Error parsing resume", e);
@@ -49,12 +76,76 @@ public class ResumeController {
         }
     }
 
+    @PostMapping("/upload/async")
+    public ResponseEntity<UploadJobDTO> uploadResumeAsync(@RequestParam("file") MultipartFile file) {
+        try {
+            UploadJobDTO job = uploadJobService.submit(file);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/resumes/upload/jobs/" + job.getJobId()))
+                .body(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Upload queue full, rejecting {}", file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        } catch (IOException e) {
+            log.error("Error spooling resume upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/upload/jobs/{jobId}")
+    public ResponseEntity<UploadJobDTO> getUploadJob(@PathVariable String jobId) {
+        return uploadJobService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/upload/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUploadJob(@PathVariable String jobId) {
+        return uploadJobService.subscribe(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/bulk-upload")
+    public ResponseEntity<BulkImportResultDTO> bulkUploadResumes(@RequestParam("files") List<MultipartFile> files) {
+        try {
+            log.info("Bulk importing {} uploaded file(s)", files.size());
+            BulkImportResultDTO result = bulkImportService.importFiles(files);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            log.error("Error reading bulk upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<Resume>> getAllResumes() {
         List<Resume> resumes = resumeRepository.findAllByOrderByUpdatedAtDesc();
         return ResponseEntity.ok(resumes);
     }
 
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClusters() {
+        return ResponseEntity.ok(duplicateDetectionService.resumeClusters());
+    }
+
+    @PostMapping("/duplicates/merge")
+    public ResponseEntity<Resume> mergeDuplicates(@RequestBody DuplicateMergeRequestDTO request) {
+        if (request.getKeepId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return duplicateDetectionService.mergeResumes(request.getKeepId(), request.getDuplicateIds())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected duplicate merge into resume {}: {}", request.getKeepId(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Resume> getResume(@PathVariable Long id) {
         return resumeRepository.findById(id)
@@ -78,6 +169,8 @@ public class ResumeController {
                 resume.setProjects(resumeDTO.getProjects());
                 resume.setCertifications(resumeDTO.getCertifications());
                 resume.setTemplate(resumeDTO.getTemplate());
+                // Edited content no longer corresponds to the uploaded file
+                resume.setContentHash(null);
                 
                 Resume updated = resumeRepository.save(resume);
                 return ResponseEntity.ok(updated);
@@ -88,6 +181,7 @@ public class ResumeController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteResume(@PathVariable Long id) {
         if (resumeRepository.existsById(id)) {
+            matchResultService.deleteForResume(id);
             resumeRepository.deleteById(id);
             return ResponseEntity.noContent().build();
         }
@@ -105,11 +199,96 @@ public class ResumeController {
         JobDescription jd = jobDescriptionRepository.findById(jdId)
             .orElseThrow(() -> new RuntimeException("Job Description not found"));
         
-        MatchScoreDTO matchScore = matchingService.calculateMatch(resume, jd);
+        MatchScoreDTO matchScore = matchResultService.getOrCalculate(resume, jd);
         
         return ResponseEntity.ok(matchScore);
     }
 
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<List<MatchHistoryEntryDTO>> getMatchHistory(@PathVariable Long id) {
+        return resumeRepository.findById(id)
+            .map(resume -> ResponseEntity.ok(matchResultService.getHistory(resume)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/match-cache/stats")
+    public ResponseEntity<CacheStatsDTO> getMatchCacheStats() {
+        return ResponseEntity.ok(matchResultService.getCacheStats());
+    }
+
+    @GetMapping("/{id}/job-matches")
+    public ResponseEntity<JobRankingDTO> rankJobDescriptions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Optional<Resume> resume = resumeRepository.findById(id);
+        if (resume.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(jobRankingService.rankJobDescriptions(resume.get(), page, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected job ranking request for resume {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/live-sessions")
+    public ResponseEntity<LiveScoreDTO> openLiveSession(
+            @PathVariable Long id,
+            @RequestParam Long jdId) {
+        Optional<Resume> resume = resumeRepository.findById(id);
+        Optional<JobDescription> jd = jobDescriptionRepository.findById(jdId);
+        if (resume.isEmpty() || jd.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            LiveScoreDTO score = liveScoringService.open(resume.get(), jd.get());
+            return ResponseEntity.created(URI.create("/api/resumes/live-sessions/" + score.getSessionId()))
+                .body(score);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected live session for resume {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        }
+    }
+
+    @GetMapping("/live-sessions/{sessionId}")
+    public ResponseEntity<LiveScoreDTO> getLiveScore(@PathVariable String sessionId) {
+        return liveScoringService.getScore(sessionId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/live-sessions/{sessionId}")
+    public ResponseEntity<LiveScoreDTO> updateLiveSession(
+            @PathVariable String sessionId,
+            @RequestBody Map<String, String> changes) {
+        try {
+            return liveScoringService.update(sessionId, changes)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected live session update {}: {}", sessionId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/live-sessions/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLiveSession(@PathVariable String sessionId) {
+        return liveScoringService.subscribe(sessionId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/live-sessions/{sessionId}")
+    public ResponseEntity<Void> closeLiveSession(@PathVariable String sessionId) {
+        return liveScoringService.close(sessionId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+
     @PostMapping("/{id}/optimize")
     public ResponseEntity<Resume> optimizeResume(
             @PathVariable Long id,
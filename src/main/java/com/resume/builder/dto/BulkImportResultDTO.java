@@ -0,0 +1,27 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private Integer total;
+    private Integer imported;
+    private Integer failed;
+    private Integer duplicates;
+    private List<FileResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FileResult {
+        private String filename;
+        private String status;
+        private Long resumeId;
+        private String error;
+    }
+}
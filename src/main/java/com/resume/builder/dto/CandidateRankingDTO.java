@@ -0,0 +1,18 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateRankingDTO {
+    private Long jobDescriptionId;
+    private int page;
+    private int size;
+    private int totalResumes;
+    private int scoredResumes;
+    private List<RankedCandidateDTO> results;
+}
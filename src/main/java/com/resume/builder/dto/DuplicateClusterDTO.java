@@ -0,0 +1,15 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+    // Most recently updated member; the one a merge keeps by default
+    private Long keepId;
+    private List<DuplicateMemberDTO> members;
+}
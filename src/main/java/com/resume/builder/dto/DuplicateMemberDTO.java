@@ -0,0 +1,18 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateMemberDTO {
+    private Long id;
+    // Resume name, or job title and company
+    private String label;
+    private LocalDateTime updatedAt;
+    // Differing SimHash bits from the member to keep
+    private int distance;
+}
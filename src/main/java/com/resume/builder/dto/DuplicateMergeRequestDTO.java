@@ -0,0 +1,15 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateMergeRequestDTO {
+    private Long keepId;
+    // Left out to merge every other member of the kept document's cluster
+    private List<Long> duplicateIds;
+}
@@ -0,0 +1,15 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EducationEntryDTO {
+    private String degree;
+    private String field;
+    private String institution;
+    private String year;
+}
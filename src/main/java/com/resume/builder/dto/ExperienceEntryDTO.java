@@ -0,0 +1,16 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExperienceEntryDTO {
+    private String title;
+    private String company;
+    private String duration;
+    private String location;
+    private String description;
+}
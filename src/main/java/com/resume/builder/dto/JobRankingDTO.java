@@ -0,0 +1,17 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRankingDTO {
+    private Long resumeId;
+    private int page;
+    private int size;
+    private int totalJobDescriptions;
+    private List<RankedJobDTO> results;
+}
@@ -0,0 +1,26 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveScoreDTO {
+    private String sessionId;
+    private Long resumeId;
+    private Long jobDescriptionId;
+    private Long revision;
+    private Double overallScore;
+    private Double skillsMatchScore;
+    private Double experienceMatchScore;
+    private Double keywordMatchScore;
+    private Double semanticScore;
+    private Double atsScore;
+    private List<String> matchedKeywords;
+    private List<String> missingKeywords;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchHistoryEntryDTO {
+    private Long matchResultId;
+    private Long jobDescriptionId;
+    private String jobTitle;
+    private String companyName;
+    // False once the resume or job description changed after the match was computed
+    private boolean current;
+    private LocalDateTime createdAt;
+    private MatchScoreDTO match;
+}
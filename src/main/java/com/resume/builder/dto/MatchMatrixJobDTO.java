@@ -0,0 +1,21 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchMatrixJobDTO {
+    private String jobId;
+    private String status;
+    private boolean skipDuplicates;
+    private long totalPairs;
+    private long completedPairs;
+    private int progress;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchMatrixRequestDTO {
+    // Either list may be left out to match against every stored document
+    private List<Long> resumeIds;
+    private List<Long> jobDescriptionIds;
+    // Score only the most recently updated document of each near-duplicate cluster
+    private boolean skipDuplicates;
+}
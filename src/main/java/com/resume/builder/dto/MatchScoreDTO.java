@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -12,9 +13,14 @@ public class MatchScoreDTO {
     private Double overallScore;
     private Double skillsMatchScore;
     private Double experienceMatchScore;
+    private Double semanticScore;
     private Double atsScore;
     private List<String> matchedKeywords;
+    // Confidence in [0, 1] of each matched keyword; below 1 when a misspelled skill was resolved to it
+    private Map<String, Double> keywordConfidence;
     private List<String> missingKeywords;
+    // Occurrences in the resume of each job description keyword it contains, most frequent first
+    private Map<String, Integer> keywordFrequencies;
     private List<String> suggestions;
     private String strength;
     private String weakness;
@@ -0,0 +1,15 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectEntryDTO {
+    private String name;
+    private String technologies;
+    private String description;
+    private String url;
+}
@@ -0,0 +1,16 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedJobDTO {
+    private int rank;
+    private Long jobDescriptionId;
+    private String jobTitle;
+    private String companyName;
+    private MatchScoreDTO match;
+}
@@ -0,0 +1,16 @@
+package com.resume.builder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SemanticCandidateDTO {
+    private int rank;
+    private Long resumeId;
+    private String name;
+    private String email;
+    private Double semanticScore;
+}
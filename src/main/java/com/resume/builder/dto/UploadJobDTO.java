@@ -0,0 +1,23 @@
+package com.resume.builder.dto;
+
+import com.resume.builder.model.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJobDTO {
+    private String jobId;
+    private String filename;
+    private String status;
+    private Integer progress;
+    private Long resumeId;
+    private String error;
+    private Integer queueDepth;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Resume resume;
+}
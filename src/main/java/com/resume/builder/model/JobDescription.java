@@ -1,5 +1,6 @@
 package com.resume.builder.model;
 
+import com.resume.builder.service.MatchDocumentListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "job_descriptions")
+@EntityListeners(MatchDocumentListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,8 +39,17 @@ public class JobDescription {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,74 @@
+package com.resume.builder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Tokenized match features of a resume or job description, stored beside the document so matching
+ * does not re-tokenize it. Terms are kept as text, one per line, because term ids only live as long
+ * as the process.
+ */
+@Entity
+@Table(name = "match_features",
+       uniqueConstraints = @UniqueConstraint(name = "uk_match_features_document",
+                                             columnNames = {"document_type", "document_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchFeatures {
+    public static final String RESUME = "RESUME";
+    public static final String JOB_DESCRIPTION = "JOB_DESCRIPTION";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "document_type", length = 20, nullable = false)
+    private String documentType;
+    
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+    
+    // updated_at of the document in epoch millis when the features were computed
+    @Column(name = "document_version", nullable = false)
+    private Long documentVersion;
+    
+    // Version of the way the features are computed; rows of an older one are recomputed
+    @Column(name = "format_version")
+    private Integer formatVersion;
+    
+    // The term lists grow with the document, up to the parser's character limit
+    @Lob
+    @Column(name = "skill_terms")
+    private String skillTerms;
+    
+    // "term<TAB>count" per line
+    @Lob
+    @Column(name = "keyword_terms")
+    private String keywordTerms;
+    
+    // Experience keywords for a resume, responsibility keywords for a job description
+    @Lob
+    @Column(name = "section_terms")
+    private String sectionTerms;
+    
+    // Base64 of the semantic vector as little-endian floats; its length depends on the dimensions
+    @Lob
+    private String embedding;
+    
+    // 64-bit SimHash of the keyword shingles, for near-duplicate detection
+    @Column(name = "simhash")
+    private Long simHash;
+    
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        computedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.resume.builder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Checkpoint of one finished block of a {@link MatchMatrixJob}, written in the same transaction
+ * as the block's match results.
+ */
+@Entity
+@Table(name = "match_matrix_blocks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_match_matrix_blocks_block",
+                                             columnNames = {"job_id", "block_index"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchMatrixBlock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", length = 36, nullable = false)
+    private String jobId;
+    
+    @Column(name = "block_index", nullable = false)
+    private Integer blockIndex;
+    
+    @Column(name = "pairs", nullable = false)
+    private Integer pairs;
+}
@@ -0,0 +1,75 @@
+package com.resume.builder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A batch job that scores every resume against every job description, or a filtered subset.
+ * The pairs are split into blocks of resume ids by job description ids; finished blocks are
+ * recorded as {@link MatchMatrixBlock}s so an interrupted job continues where it stopped.
+ */
+@Entity
+@Table(name = "match_matrix_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchMatrixJob {
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Column(length = 20, nullable = false)
+    private String status;
+    
+    // Comma-separated ids to restrict the matrix to, or null for all
+    @Lob
+    @Column(name = "resume_ids")
+    private String resumeIds;
+    
+    @Lob
+    @Column(name = "job_description_ids")
+    private String jobDescriptionIds;
+    
+    // Near-duplicates are resolved when the job runs; null on jobs created before the option existed
+    @Column(name = "skip_duplicates")
+    private Boolean skipDuplicates;
+    
+    // Block geometry, fixed when the job is created: ids above the maximums are not matched
+    @Column(name = "block_size", nullable = false)
+    private Integer blockSize;
+    
+    @Column(name = "max_resume_id", nullable = false)
+    private Long maxResumeId;
+    
+    @Column(name = "max_job_description_id", nullable = false)
+    private Long maxJobDescriptionId;
+    
+    @Column(name = "total_pairs", nullable = false)
+    private Long totalPairs;
+    
+    @Column(name = "completed_pairs", nullable = false)
+    private Long completedPairs;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
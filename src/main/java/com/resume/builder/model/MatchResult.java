@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "match_results")
+@Table(name = "match_results",
+       indexes = @Index(name = "idx_match_results_documents", columnList = "resume_id, job_description_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +25,13 @@ public class MatchResult {
     @JoinColumn(name = "job_description_id")
     private JobDescription jobDescription;
     
+    // Versions (update times in epoch millis) of the resume and job description that were matched
+    @Column(name = "resume_version")
+    private Long resumeVersion;
+    
+    @Column(name = "job_description_version")
+    private Long jobDescriptionVersion;
+    
     @Column(name = "overall_score")
     private Double overallScore;
     
@@ -39,6 +47,10 @@ public class MatchResult {
     @Column(length = 3000)
     private String suggestions;
     
+    // The full MatchScoreDTO as JSON
+    @Column(name = "result_json", length = 20000)
+    private String resultJson;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -1,5 +1,6 @@
 package com.resume.builder.model;
 
+import com.resume.builder.service.MatchDocumentListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,7 +8,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = @Index(name = "idx_resumes_content_hash", columnList = "content_hash"))
+@EntityListeners(MatchDocumentListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +45,9 @@ public class Resume {
     @Column(name = "original_filename")
     private String originalFilename;
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
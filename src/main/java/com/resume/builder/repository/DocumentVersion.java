@@ -0,0 +1,9 @@
+package com.resume.builder.repository;
+
+import java.time.LocalDateTime;
+
+/** Id and last modification time of a stored resume or job description. */
+public interface DocumentVersion {
+    Long getId();
+    LocalDateTime getUpdatedAt();
+}
@@ -2,8 +2,21 @@ package com.resume.builder.repository;
 
 import com.resume.builder.model.JobDescription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface JobDescriptionRepository extends JpaRepository<JobDescription, Long> {
+
+    @Query("select j.id as id, j.updatedAt as updatedAt from JobDescription j")
+    List<DocumentVersion> findAllVersions();
+
+    List<JobDescription> findByIdBetweenOrderById(Long fromId, Long toId);
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Query("select max(x.id) from JobDescription x")
+    Long findMaxId();
 }
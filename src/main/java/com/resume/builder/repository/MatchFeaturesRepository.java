@@ -0,0 +1,22 @@
+package com.resume.builder.repository;
+
+import com.resume.builder.model.MatchFeatures;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MatchFeaturesRepository extends JpaRepository<MatchFeatures, Long> {
+    Optional<MatchFeatures> findByDocumentTypeAndDocumentId(String documentType, Long documentId);
+
+    List<MatchFeatures> findByDocumentType(String documentType);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchFeatures f where f.documentType = :documentType and f.documentId = :documentId")
+    void deleteByDocument(String documentType, Long documentId);
+}
@@ -0,0 +1,14 @@
+package com.resume.builder.repository;
+
+import com.resume.builder.model.MatchMatrixBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface MatchMatrixBlockRepository extends JpaRepository<MatchMatrixBlock, Long> {
+
+    @Query("select b.blockIndex from MatchMatrixBlock b where b.jobId = :jobId")
+    List<Integer> findBlockIndexesByJobId(String jobId);
+}
@@ -0,0 +1,31 @@
+package com.resume.builder.repository;
+
+import com.resume.builder.model.MatchMatrixJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MatchMatrixJobRepository extends JpaRepository<MatchMatrixJob, String> {
+    List<MatchMatrixJob> findAllByOrderByCreatedAtDesc();
+
+    List<MatchMatrixJob> findByStatusInOrderByCreatedAt(Collection<String> statuses);
+
+    // Progress is written alongside each block, so status changes must not overwrite it
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update MatchMatrixJob j set j.status = :status, j.error = :error, j.updatedAt = :updatedAt where j.id = :id")
+    int updateStatus(String id, String status, String error, LocalDateTime updatedAt);
+
+    // Changes the status only from one of the expected ones, so concurrent transitions do not overwrite each other
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update MatchMatrixJob j set j.status = :status, j.error = :error, j.updatedAt = :updatedAt "
+        + "where j.id = :id and j.status in :from")
+    int updateStatusFrom(String id, Collection<String> from, String status, String error, LocalDateTime updatedAt);
+}
@@ -2,10 +2,28 @@ package com.resume.builder.repository;
 
 import com.resume.builder.model.MatchResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Repository
 public interface MatchResultRepository extends JpaRepository<MatchResult, Long> {
     List<MatchResult> findByResumeIdOrderByCreatedAtDesc(Long resumeId);
+
+    @Query("select m from MatchResult m where m.resume.id = :resumeId and m.resumeVersion = :resumeVersion"
+        + " and m.jobDescription.id = :jobDescriptionId and m.jobDescriptionVersion = :jobDescriptionVersion"
+        + " order by m.createdAt desc")
+    List<MatchResult> findByVersions(Long resumeId, Long resumeVersion, Long jobDescriptionId, Long jobDescriptionVersion);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchResult m where m.resume.id = :resumeId")
+    void deleteByResume(Long resumeId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchResult m where m.jobDescription.id = :jobDescriptionId")
+    void deleteByJobDescription(Long jobDescriptionId);
 }
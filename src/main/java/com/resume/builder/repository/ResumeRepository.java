@@ -2,7 +2,9 @@ package com.resume.builder.repository;
 
 import com.resume.builder.model.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +12,15 @@ import java.util.Optional;
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     Optional<Resume> findByEmail(String email);
     List<Resume> findAllByOrderByUpdatedAtDesc();
+    Optional<Resume> findFirstByContentHash(String contentHash);
+
+    @Query("select r.id as id, r.updatedAt as updatedAt from Resume r")
+    List<DocumentVersion> findAllVersions();
+
+    List<Resume> findByIdBetweenOrderById(Long fromId, Long toId);
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Query("select max(x.id) from Resume x")
+    Long findMaxId();
 }
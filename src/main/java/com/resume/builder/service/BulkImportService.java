@@ -0,0 +1,325 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.BulkImportResultDTO;
+import com.resume.builder.dto.BulkImportResultDTO.FileResult;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports many resumes in one request. Files (and the entries of uploaded ZIP archives) are parsed
+ * in parallel on a bounded pool and persisted in saveAll batches as they finish, while later files
+ * are still being submitted, so only the files in flight are held in memory. Files whose bytes were
+ * already imported are reported as duplicates without being parsed again.
+ */
+@Service
+@Slf4j
+public class BulkImportService {
+
+    static final String STATUS_IMPORTED = "IMPORTED";
+    static final String STATUS_FAILED = "FAILED";
+    static final String STATUS_DUPLICATE = "DUPLICATE";
+
+    private final ResumeParserService parserService;
+    private final ResumeFingerprintService fingerprintService;
+    private final ResumeRepository resumeRepository;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final long maxEntrySize;
+    private final int maxArchiveEntries;
+    // Spooled files whose parse has not finished, deleted on shutdown if their task never runs
+    private final Set<Path> spooledFiles = ConcurrentHashMap.newKeySet();
+
+    public BulkImportService(
+            ResumeParserService parserService,
+            ResumeFingerprintService fingerprintService,
+            ResumeRepository resumeRepository,
+            @Value("${resume.import.threads:0}") int threads,
+            @Value("${resume.import.queue-capacity:256}") int queueCapacity,
+            @Value("${resume.import.batch-size:50}") int batchSize,
+            @Value("${resume.import.max-entry-size:10485760}") long maxEntrySize,
+            @Value("${resume.import.max-archive-entries:1000}") int maxArchiveEntries) {
+        this.parserService = parserService;
+        this.fingerprintService = fingerprintService;
+        this.resumeRepository = resumeRepository;
+        this.batchSize = batchSize;
+        this.maxEntrySize = maxEntrySize;
+        this.maxArchiveEntries = maxArchiveEntries;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounded queue; when it is full the submitting request thread parses the file itself, and
+        // once the pool is shut down the file is rejected so the request does not wait for it forever
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "resume-import-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, pool) -> {
+                if (pool.isShutdown()) {
+                    throw new RejectedExecutionException("Import pool is shut down");
+                }
+                runnable.run();
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Queued parses never run: fail their futures so no request waits on them, and drop their files
+        for (Runnable queued : executor.shutdownNow()) {
+            if (queued instanceof Future<?> future) {
+                future.cancel(false);
+            }
+        }
+        for (Path spooled : spooledFiles) {
+            deleteSpooled(spooled);
+        }
+    }
+
+    public BulkImportResultDTO importFiles(List<MultipartFile> files) throws IOException {
+        Batch batch = new Batch();
+        for (MultipartFile file : files) {
+            String filename = file.getOriginalFilename();
+            if (filename != null && filename.toLowerCase().endsWith(".zip")) {
+                try (ZipInputStream zip = new ZipInputStream(file.getInputStream())) {
+                    submitZipEntries(filename, zip, batch);
+                }
+            } else {
+                try (InputStream in = file.getInputStream()) {
+                    submit(filename, in, batch);
+                }
+            }
+        }
+        collect(batch, true);
+        return summarize(batch.entries);
+    }
+
+    private void submitZipEntries(String archiveName, ZipInputStream zip, Batch batch) throws IOException {
+        int entries = 0;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String filename = baseName(entry.getName());
+            if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/") || filename.startsWith(".")) {
+                continue;
+            }
+            if (++entries > maxArchiveEntries) {
+                IOException e = new IOException("Archive has more than " + maxArchiveEntries + " files; the rest were skipped");
+                batch.add(PendingEntry.parsing(archiveName, CompletableFuture.failedFuture(e)));
+                return;
+            }
+            submit(filename, zip, batch);
+        }
+    }
+
+    private void submit(String filename, InputStream in, Batch batch) throws IOException {
+        Path spooled = Files.createTempFile("resume-import-", ".tmp");
+        String contentHash;
+        try {
+            contentHash = fingerprintService.spoolAndFingerprint(in, spooled, maxEntrySize);
+        } catch (ResumeFingerprintService.SizeLimitExceededException e) {
+            Files.deleteIfExists(spooled);
+            batch.add(PendingEntry.parsing(filename, CompletableFuture.failedFuture(e)));
+            return;
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        // Identical bytes earlier in this request or already stored: skip the parse entirely
+        PendingEntry original = batch.firstByHash.get(contentHash);
+        Optional<Resume> existing = original == null ? fingerprintService.findExisting(contentHash) : Optional.empty();
+        if (original != null || existing.isPresent()) {
+            Files.deleteIfExists(spooled);
+            batch.entries.add(PendingEntry.duplicate(filename, original, existing.map(Resume::getId).orElse(null)));
+            return;
+        }
+
+        spooledFiles.add(spooled);
+        Future<Resume> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    Resume resume = parserService.parseResume(spooled, filename);
+                    resume.setContentHash(contentHash);
+                    return resume;
+                } finally {
+                    deleteSpooled(spooled);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            deleteSpooled(spooled);
+            batch.add(PendingEntry.parsing(filename, CompletableFuture.failedFuture(e)));
+            return;
+        }
+        PendingEntry entry = PendingEntry.parsing(filename, future);
+        batch.firstByHash.put(contentHash, entry);
+        batch.add(entry);
+        collect(batch, false);
+    }
+
+    private void deleteSpooled(Path spooled) {
+        spooledFiles.remove(spooled);
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import {}", spooled, e);
+        }
+    }
+
+    /**
+     * Moves finished parses into the save batch, saving it whenever it is full; when {@code wait} is
+     * set, waits for every parse still in flight and saves the remainder.
+     */
+    private void collect(Batch batch, boolean wait) {
+        Iterator<PendingEntry> inFlight = batch.inFlight.iterator();
+        while (inFlight.hasNext()) {
+            PendingEntry entry = inFlight.next();
+            if (!wait && !entry.future.isDone()) {
+                continue;
+            }
+            inFlight.remove();
+            try {
+                batch.resumes.add(entry.future.get());
+                batch.results.add(entry.result);
+            } catch (ExecutionException e) {
+                markFailed(entry.result, e.getCause());
+            } catch (CancellationException e) {
+                markFailed(entry.result, new IOException("Import cancelled by shutdown"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(entry.result, e);
+            }
+            // The parsed resume is only kept until its batch is saved
+            entry.future = null;
+
+            if (batch.resumes.size() >= batchSize) {
+                saveBatch(batch.resumes, batch.results);
+            }
+        }
+        if (wait) {
+            saveBatch(batch.resumes, batch.results);
+        }
+    }
+
+    private BulkImportResultDTO summarize(List<PendingEntry> entries) {
+        List<FileResult> results = new ArrayList<>(entries.size());
+        for (PendingEntry entry : entries) {
+            // Duplicates within the request share the outcome of the first copy
+            if (entry.original != null) {
+                FileResult original = entry.original.result;
+                if (STATUS_FAILED.equals(original.getStatus())) {
+                    entry.result.setStatus(STATUS_FAILED);
+                    entry.result.setError(original.getError());
+                } else {
+                    entry.result.setResumeId(original.getResumeId());
+                }
+            }
+            results.add(entry.result);
+        }
+
+        int imported = countStatus(results, STATUS_IMPORTED);
+        int duplicates = countStatus(results, STATUS_DUPLICATE);
+        log.info("Bulk import finished: {} of {} file(s) imported, {} duplicate(s)",
+            imported, results.size(), duplicates);
+        return new BulkImportResultDTO(results.size(), imported, countStatus(results, STATUS_FAILED),
+            duplicates, results);
+    }
+
+    private static int countStatus(List<FileResult> results, String status) {
+        return (int) results.stream().filter(r -> status.equals(r.getStatus())).count();
+    }
+
+    private void saveBatch(List<Resume> batch, List<FileResult> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Resume> saved = resumeRepository.saveAll(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                batchResults.get(i).setResumeId(saved.get(i).getId());
+                fingerprintService.remember(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to save import batch of {} resume(s)", batch.size(), e);
+            batchResults.forEach(result -> markFailed(result, e));
+        }
+        batch.clear();
+        batchResults.clear();
+    }
+
+    private void markFailed(FileResult result, Throwable cause) {
+        result.setStatus(STATUS_FAILED);
+        result.setError(cause.getMessage());
+    }
+
+    private static String baseName(String entryName) {
+        int slash = Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\'));
+        return entryName.substring(slash + 1);
+    }
+
+    /** Entries of one request: all of them for the report, the parses in flight and the batch being filled. */
+    private class Batch {
+        private final List<PendingEntry> entries = new ArrayList<>();
+        private final Map<String, PendingEntry> firstByHash = new HashMap<>();
+        private final List<PendingEntry> inFlight = new ArrayList<>();
+        private final List<Resume> resumes = new ArrayList<>(batchSize);
+        private final List<FileResult> results = new ArrayList<>(batchSize);
+
+        void add(PendingEntry entry) {
+            entries.add(entry);
+            inFlight.add(entry);
+        }
+    }
+
+    private static class PendingEntry {
+        private final PendingEntry original;
+        private final FileResult result;
+        private Future<Resume> future;
+
+        private PendingEntry(String filename, Future<Resume> future, PendingEntry original, Long existingResumeId) {
+            this.future = future;
+            this.original = original;
+            this.result = future == null
+                ? new FileResult(filename, STATUS_DUPLICATE, existingResumeId, null)
+                : new FileResult(filename, STATUS_IMPORTED, null, null);
+        }
+
+        static PendingEntry parsing(String filename, Future<Resume> future) {
+            return new PendingEntry(filename, future, null, null);
+        }
+
+        static PendingEntry duplicate(String filename, PendingEntry original, Long existingResumeId) {
+            return new PendingEntry(filename, null, original, existingResumeId);
+        }
+    }
+}
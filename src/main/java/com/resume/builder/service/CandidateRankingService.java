@@ -0,0 +1,119 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.CandidateRankingDTO;
+import com.resume.builder.dto.RankedCandidateDTO;
+import com.resume.builder.dto.SemanticCandidateDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.HnswIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks stored resumes against one job description. Candidates are retrieved from the
+ * {@link ResumeIndex}, and full match results are built for the requested page only.
+ */
+@Service
+@Slf4j
+public class CandidateRankingService {
+
+    private final ResumeIndex resumeIndex;
+    private final ResumeRepository resumeRepository;
+    private final MatchFeaturesService matchFeaturesService;
+    private final MatchingService matchingService;
+    private final int maxResults;
+
+    public CandidateRankingService(
+            ResumeIndex resumeIndex,
+            ResumeRepository resumeRepository,
+            MatchFeaturesService matchFeaturesService,
+            MatchingService matchingService,
+            @Value("${resume.ranking.max-results:1000}") int maxResults) {
+        this.resumeIndex = resumeIndex;
+        this.resumeRepository = resumeRepository;
+        this.matchFeaturesService = matchFeaturesService;
+        this.matchingService = matchingService;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * One page of the resumes that best match the job description, best first. Resumes that share
+     * no skill or keyword with it are only included when they are among its semantic neighbours.
+     *
+     * @throws IllegalArgumentException if the page is negative, the size is not positive, or the
+     *         page reaches past the configured maximum number of ranked results
+     */
+    public CandidateRankingDTO rankResumes(JobDescription jd, int page, int size) {
+        // In long arithmetic, so a huge page cannot wrap around and pass the check
+        long end = ((long) page + 1) * size;
+        if (page < 0 || size < 1 || end > maxResults) {
+            throw new IllegalArgumentException("Only the top " + maxResults + " resumes can be ranked");
+        }
+
+        long start = System.nanoTime();
+        ResumeIndex.TopK top = resumeIndex.topK(matchFeaturesService.forJobDescription(jd), (int) end);
+        List<ResumeIndex.Hit> pageHits = top.hits().subList(Math.min(top.hits().size(), page * size), top.hits().size());
+        int totalResumes = resumeIndex.size();
+        log.debug("Scored {} of {} resumes for job description {} in {} ms", top.scored(), totalResumes, jd.getId(),
+            (System.nanoTime() - start) / 1_000_000);
+
+        Map<Long, Resume> resumes = resumeRepository
+            .findAllById(pageHits.stream().map(ResumeIndex.Hit::resumeId).toList())
+            .stream()
+            .collect(Collectors.toMap(Resume::getId, Function.identity()));
+
+        List<RankedCandidateDTO> results = new ArrayList<>();
+        int rank = page * size;
+        for (ResumeIndex.Hit hit : pageHits) {
+            rank++;
+            Resume resume = resumes.get(hit.resumeId());
+            if (resume == null) {
+                // Deleted while ranking
+                continue;
+            }
+            results.add(new RankedCandidateDTO(rank, resume.getId(), resume.getName(), resume.getEmail(),
+                matchingService.calculateMatch(resume, jd)));
+        }
+        return new CandidateRankingDTO(jd.getId(), page, size, totalResumes, top.scored(), results);
+    }
+
+    /**
+     * The resumes whose semantic vectors are nearest to the job description's, nearest first,
+     * found by approximate search without scoring the lexical match.
+     *
+     * @throws IllegalArgumentException if the size is not positive or exceeds the configured
+     *         maximum number of ranked results
+     */
+    public List<SemanticCandidateDTO> semanticCandidates(JobDescription jd, int size) {
+        if (size < 1 || size > maxResults) {
+            throw new IllegalArgumentException("Only the top " + maxResults + " resumes can be ranked");
+        }
+
+        List<HnswIndex.Neighbor> neighbors = resumeIndex.semanticTopK(
+            matchFeaturesService.forJobDescription(jd).embedding(), size);
+        Map<Long, Resume> resumes = resumeRepository
+            .findAllById(neighbors.stream().map(HnswIndex.Neighbor::id).toList())
+            .stream()
+            .collect(Collectors.toMap(Resume::getId, Function.identity()));
+
+        List<SemanticCandidateDTO> results = new ArrayList<>();
+        int rank = 0;
+        for (HnswIndex.Neighbor neighbor : neighbors) {
+            rank++;
+            Resume resume = resumes.get(neighbor.id());
+            if (resume != null) {
+                results.add(new SemanticCandidateDTO(rank, resume.getId(), resume.getName(), resume.getEmail(),
+                    Math.max(0.0, neighbor.similarity()) * 100));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,206 @@
+package com.resume.builder.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the first email address, phone number, LinkedIn profile and GitHub profile in a text
+ * in a single left-to-right pass. Each candidate is confirmed with a deterministic, bounded
+ * look-ahead from its trigger character, so digit-heavy input cannot cause regex backtracking.
+ *
+ * <p>Matches are the same as the leftmost matches of the patterns previously used by the parser:
+ * <pre>
+ *   email    [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}
+ *   phone    (\+?\d{1,3}[-.\s]?)?\(?\d{3}\)?[-.\s]?\d{3}[-.\s]?\d{4}
+ *   linkedin (https?://)?(www\.)?linkedin\.com/in/[a-zA-Z0-9-]+
+ *   github   (https?://)?(www\.)?github\.com/[a-zA-Z0-9-]+
+ * </pre>
+ */
+@Component
+public class ContactScanner {
+
+    private static final String LINKEDIN_HOST = "linkedin.com/in/";
+    private static final String GITHUB_HOST = "github.com/";
+
+    public ContactInfo scan(String text) {
+        if (text == null || text.isEmpty()) {
+            return new ContactInfo("", "", "", "");
+        }
+
+        String email = null;
+        String phone = null;
+        String linkedIn = null;
+        String github = null;
+
+        int length = text.length();
+        int localStart = 0;
+        for (int i = 0; i < length && (email == null || phone == null || linkedIn == null || github == null); i++) {
+            char c = text.charAt(i);
+
+            if (c == '@') {
+                if (email == null && localStart < i) {
+                    int end = matchEmailDomain(text, i + 1);
+                    if (end != -1) {
+                        email = text.substring(localStart, end);
+                    }
+                }
+            } else if (c == 'l') {
+                if (linkedIn == null) {
+                    linkedIn = matchProfile(text, i, LINKEDIN_HOST);
+                }
+            } else if (c == 'g') {
+                if (github == null) {
+                    github = matchProfile(text, i, GITHUB_HOST);
+                }
+            } else if (phone == null && (c == '+' || c == '(' || isDigit(c))) {
+                int end = matchPhone(text, i);
+                if (end != -1) {
+                    phone = text.substring(i, end);
+                }
+            }
+
+            // Start of the run of local-part characters that would precede the next '@'
+            if (!isLocalPartChar(c)) {
+                localStart = i + 1;
+            }
+        }
+
+        return new ContactInfo(orEmpty(email), orEmpty(phone), orEmpty(linkedIn), orEmpty(github));
+    }
+
+    /**
+     * Matches {@code [a-zA-Z0-9.-]+\.[a-zA-Z]{2,}} at {@code start}: the rightmost dot inside the
+     * domain run that is preceded by a domain character and followed by at least two letters wins.
+     */
+    private int matchEmailDomain(String text, int start) {
+        int end = -1;
+        int dot = -1;
+        int letters = 0;
+        boolean countingLetters = false;
+
+        for (int i = start; i < text.length() && isDomainChar(text.charAt(i)); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && i > start) {
+                dot = i;
+                letters = 0;
+                countingLetters = true;
+            } else if (countingLetters && isLetter(c)) {
+                letters++;
+                if (letters >= 2) {
+                    end = dot + 1 + letters;
+                }
+            } else {
+                countingLetters = false;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Matches {@code (https?://)?(www\.)?<host>[a-zA-Z0-9-]+} where the host starts at {@code i};
+     * the optional scheme and www prefix are picked up by looking back a fixed distance.
+     */
+    private String matchProfile(String text, int i, String host) {
+        if (!text.startsWith(host, i)) {
+            return null;
+        }
+        int end = i + host.length();
+        while (end < text.length() && isHandleChar(text.charAt(end))) end++;
+        if (end == i + host.length()) {
+            return null;
+        }
+
+        int start = i;
+        if (text.startsWith("www.", start - 4)) {
+            start -= 4;
+        }
+        if (text.startsWith("https://", start - 8)) {
+            start -= 8;
+        } else if (text.startsWith("http://", start - 7)) {
+            start -= 7;
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Matches {@code (\+?\d{1,3}[-.\s]?)?} followed by the core number at {@code start}. Only the
+     * country-code length is ambiguous, so at most four fixed-length attempts are made.
+     */
+    private int matchPhone(String text, int start) {
+        int pos = start;
+        if (pos < text.length() && text.charAt(pos) == '+') {
+            pos++;
+        }
+        int digits = countDigits(text, pos, 3);
+        for (int prefixDigits = digits; prefixDigits >= 1; prefixDigits--) {
+            int afterPrefix = skipSeparator(text, pos + prefixDigits);
+            int end = matchPhoneCore(text, afterPrefix);
+            if (end != -1) {
+                return end;
+            }
+        }
+        return matchPhoneCore(text, start);
+    }
+
+    // \(?\d{3}\)?[-.\s]?\d{3}[-.\s]?\d{4}; every optional element is decided by the next character
+    private int matchPhoneCore(String text, int pos) {
+        if (pos < text.length() && text.charAt(pos) == '(') pos++;
+        if (countDigits(text, pos, 3) < 3) return -1;
+        pos += 3;
+        if (pos < text.length() && text.charAt(pos) == ')') pos++;
+        pos = skipSeparator(text, pos);
+        if (countDigits(text, pos, 3) < 3) return -1;
+        pos = skipSeparator(text, pos + 3);
+        if (countDigits(text, pos, 4) < 4) return -1;
+        return pos + 4;
+    }
+
+    private int skipSeparator(String text, int pos) {
+        if (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '-' || c == '.' || isRegexWhitespace(c)) {
+                return pos + 1;
+            }
+        }
+        return pos;
+    }
+
+    private int countDigits(String text, int pos, int max) {
+        int count = 0;
+        while (count < max && pos + count < text.length() && isDigit(text.charAt(pos + count))) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isLocalPartChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isHandleChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '-';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Same set as the regex \s class
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    public record ContactInfo(String email, String phone, String linkedIn, String github) {
+    }
+}
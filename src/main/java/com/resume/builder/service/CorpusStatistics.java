@@ -0,0 +1,331 @@
+package com.resume.builder.service;
+
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.DocumentVersion;
+import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.TermFrequencies;
+import com.resume.builder.util.TermSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Document frequencies of keywords across all stored resumes and job descriptions, used to weight
+ * keyword matches. Saves and deletes are applied as deltas against each document's previous term
+ * set. The statistics are snapshotted to disk periodically; on startup the snapshot is reconciled
+ * against the stored documents' update times, so only documents changed since the snapshot are
+ * re-tokenized.
+ */
+@Service
+@Slf4j
+public class CorpusStatistics {
+
+    private static final int SNAPSHOT_MAGIC = 0x43535431;
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final TermDictionary termDictionary;
+    private final ResumeRepository resumeRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final Path snapshotFile;
+
+    private final Map<DocumentKey, Document> documents = new ConcurrentHashMap<>();
+    // Indexed by term id; only written under the instance lock
+    private volatile int[] documentFrequencies = new int[1024];
+    private volatile int documentCount;
+    private volatile double averageLength;
+    private long totalLength;
+    private volatile boolean dirty;
+
+    public CorpusStatistics(
+            TermDictionary termDictionary,
+            ResumeRepository resumeRepository,
+            JobDescriptionRepository jobDescriptionRepository,
+            @Value("${resume.corpus.snapshot-file:./data/corpus-stats.snapshot}") Path snapshotFile) {
+        this.termDictionary = termDictionary;
+        this.resumeRepository = resumeRepository;
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.snapshotFile = snapshotFile;
+        loadSnapshot();
+    }
+
+    /** Identifies a resume or a job description. */
+    public record DocumentKey(boolean jobDescription, long id) {
+    }
+
+    /** A document's distinct terms, token count and version (update time in epoch millis). */
+    public record Document(DocumentKey key, TermSet terms, int length, long version) {
+    }
+
+    public Document describe(Resume resume) {
+        return describe(new DocumentKey(false, resume.getId()), MatchText.of(resume), resume.getUpdatedAt());
+    }
+
+    public Document describe(JobDescription jd) {
+        return describe(new DocumentKey(true, jd.getId()), MatchText.of(jd), jd.getUpdatedAt());
+    }
+
+    private Document describe(DocumentKey key, String text, LocalDateTime updatedAt) {
+        TermFrequencies frequencies = termDictionary.countTerms(text);
+        return new Document(key, frequencies.terms(), frequencies.totalCount(), MatchText.version(updatedAt));
+    }
+
+    /** Adds a document, or replaces the previous version of it. */
+    public synchronized void record(Document document) {
+        Document previous = documents.put(document.key(), document);
+        applyDelta(previous, document);
+    }
+
+    public void removeResume(Long id) {
+        remove(new DocumentKey(false, id));
+    }
+
+    public void removeJobDescription(Long id) {
+        remove(new DocumentKey(true, id));
+    }
+
+    private synchronized void remove(DocumentKey key) {
+        Document previous = documents.remove(key);
+        if (previous != null) {
+            applyDelta(previous, null);
+        }
+    }
+
+    private void applyDelta(Document previous, Document current) {
+        TermSet before = previous == null ? TermSet.EMPTY : previous.terms();
+        TermSet after = current == null ? TermSet.EMPTY : current.terms();
+
+        int[] frequencies = documentFrequencies;
+        if (!after.isEmpty() && after.get(after.size() - 1) >= frequencies.length) {
+            int capacity = Math.max(frequencies.length * 2, after.get(after.size() - 1) + 1);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+
+        // Merge the two sorted sets: terms only in the old version lose a document, new ones gain one
+        int i = 0;
+        int j = 0;
+        while (i < before.size() || j < after.size()) {
+            int removed = i < before.size() ? before.get(i) : Integer.MAX_VALUE;
+            int added = j < after.size() ? after.get(j) : Integer.MAX_VALUE;
+            if (removed == added) {
+                i++;
+                j++;
+            } else if (removed < added) {
+                frequencies[removed]--;
+                i++;
+            } else {
+                frequencies[added]++;
+                j++;
+            }
+        }
+
+        totalLength += (current == null ? 0 : current.length()) - (previous == null ? 0 : previous.length());
+        documentCount = documents.size();
+        averageLength = documentCount == 0 ? 0.0 : (double) totalLength / documentCount;
+        documentFrequencies = frequencies;
+        dirty = true;
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    public int documentFrequency(int termId) {
+        int[] frequencies = documentFrequencies;
+        return termId < frequencies.length ? frequencies[termId] : 0;
+    }
+
+    /** Average document length in tokens, or 0 for an empty corpus. */
+    public double averageDocumentLength() {
+        return averageLength;
+    }
+
+    /** BM25 inverse document frequency; always positive, and equal for every term in an empty corpus. */
+    public double idf(int termId) {
+        int frequency = documentFrequency(termId);
+        return Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    /**
+     * Brings the statistics loaded from the snapshot up to date with the database: documents whose
+     * update time changed are re-tokenized and documents that no longer exist are dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        // Documents recorded after this point are live updates and must not be dropped
+        Set<DocumentKey> known = new HashSet<>(documents.keySet());
+        Set<DocumentKey> present = new HashSet<>();
+
+        List<Long> staleResumes = findStale(resumeRepository.findAllVersions(), false, present);
+        List<Long> staleJobDescriptions = findStale(jobDescriptionRepository.findAllVersions(), true, present);
+
+        forEachBatch(staleResumes, ids -> resumeRepository.findAllById(ids).forEach(r -> record(describe(r))));
+        forEachBatch(staleJobDescriptions,
+            ids -> jobDescriptionRepository.findAllById(ids).forEach(jd -> record(describe(jd))));
+
+        known.removeAll(present);
+        known.forEach(this::remove);
+
+        log.info("Corpus statistics reconciled in {} ms: {} documents, {} re-tokenized, {} removed",
+            System.currentTimeMillis() - started, documentCount,
+            staleResumes.size() + staleJobDescriptions.size(), known.size());
+    }
+
+    private List<Long> findStale(List<DocumentVersion> versions, boolean jobDescription, Set<DocumentKey> present) {
+        List<Long> stale = new ArrayList<>();
+        for (DocumentVersion version : versions) {
+            DocumentKey key = new DocumentKey(jobDescription, version.getId());
+            present.add(key);
+            Document document = documents.get(key);
+            if (document == null || document.version() != MatchText.version(version.getUpdatedAt())) {
+                stale.add(version.getId());
+            }
+        }
+        return stale;
+    }
+
+    private static void forEachBatch(List<Long> ids, Consumer<List<Long>> action) {
+        for (int from = 0; from < ids.size(); from += RECONCILE_BATCH_SIZE) {
+            action.accept(ids.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, ids.size())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${resume.corpus.snapshot-interval-ms:300000}",
+               initialDelayString = "${resume.corpus.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        List<Document> copy;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            copy = new ArrayList<>(documents.values());
+        }
+
+        try {
+            writeSnapshot(copy);
+            log.debug("Wrote corpus statistics snapshot with {} documents", copy.size());
+        } catch (IOException e) {
+            dirty = true;
+            log.error("Could not write corpus statistics snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    /**
+     * Term ids are only valid within one process, so the snapshot stores each distinct term once
+     * as text and refers to it by position.
+     */
+    private void writeSnapshot(List<Document> snapshotDocuments) throws IOException {
+        Map<Integer, Integer> positions = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        for (Document document : snapshotDocuments) {
+            for (int i = 0; i < document.terms().size(); i++) {
+                int id = document.terms().get(i);
+                if (positions.putIfAbsent(id, terms.size()) == null) {
+                    terms.add(termDictionary.term(id));
+                }
+            }
+        }
+
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "corpus-stats-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(terms.size());
+                for (String term : terms) {
+                    byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                out.writeInt(snapshotDocuments.size());
+                for (Document document : snapshotDocuments) {
+                    out.writeBoolean(document.key().jobDescription());
+                    out.writeLong(document.key().id());
+                    out.writeLong(document.version());
+                    out.writeInt(document.length());
+                    out.writeInt(document.terms().size());
+                    for (int i = 0; i < document.terms().size(); i++) {
+                        out.writeInt(positions.get(document.terms().get(i)));
+                    }
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            log.info("No corpus statistics snapshot at {}, statistics will be built from the database", snapshotFile);
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unrecognized snapshot format");
+            }
+            int[] termIds = new int[in.readInt()];
+            for (int i = 0; i < termIds.length; i++) {
+                termIds[i] = termDictionary.intern(new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8));
+            }
+
+            int count = in.readInt();
+            for (int d = 0; d < count; d++) {
+                DocumentKey key = new DocumentKey(in.readBoolean(), in.readLong());
+                long version = in.readLong();
+                int length = in.readInt();
+                int[] ids = new int[in.readInt()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = termIds[in.readInt()];
+                }
+                record(new Document(key, TermSet.of(ids, ids.length), length, version));
+            }
+            dirty = false;
+            log.info("Loaded corpus statistics snapshot with {} documents", count);
+        } catch (IOException | RuntimeException e) {
+            // Fall back to a full rebuild during reconciliation
+            log.warn("Could not read corpus statistics snapshot {}, rebuilding from the database", snapshotFile, e);
+            synchronized (this) {
+                new ArrayList<>(documents.keySet()).forEach(this::remove);
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.resume.builder.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.util.XMLHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts plain text from uploaded resumes with bounded memory.
+ * Uploads are spooled to a temp file and read from disk, and extraction stops at a page and character cap.
+ * Long PDFs are split into page ranges that are extracted concurrently, within a per-document thread budget.
+ */
+@Component
+@Slf4j
+public class DocumentTextExtractor {
+
+    private static final String DOCX_BODY_ENTRY = "word/document.xml";
+
+    private final int maxPages;
+    private final int maxChars;
+    private final int parallelPageThreshold;
+    private final int pagesPerRange;
+    private final int maxThreadsPerDocument;
+    private final ThreadPoolExecutor pageExecutor;
+
+    public DocumentTextExtractor(
+            @Value("${resume.parser.max-pages:50}") int maxPages,
+            @Value("${resume.parser.max-chars:200000}") int maxChars,
+            @Value("${resume.parser.pdf.parallel-page-threshold:16}") int parallelPageThreshold,
+            @Value("${resume.parser.pdf.pages-per-range:8}") int pagesPerRange,
+            @Value("${resume.parser.pdf.max-threads-per-document:4}") int maxThreadsPerDocument,
+            @Value("${resume.parser.pdf.pool-size:0}") int poolSize) {
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.parallelPageThreshold = parallelPageThreshold;
+        this.pagesPerRange = Math.max(1, pagesPerRange);
+        this.maxThreadsPerDocument = Math.max(1, maxThreadsPerDocument);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pageExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * 4),
+            runnable -> {
+                Thread thread = new Thread(runnable, "pdf-pages-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageExecutor.shutdownNow();
+    }
+
+    public String extractText(MultipartFile file) throws IOException {
+        String filename = file.getOriginalFilename();
+        checkSupported(filename);
+
+        Path spooled = Files.createTempFile("resume-upload-", ".tmp");
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return extractText(spooled, filename);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    public String extractText(Path path, String filename) throws IOException {
+        checkSupported(filename);
+
+        if (filename.endsWith(".pdf")) {
+            return extractTextFromPDF(path);
+        } else if (filename.endsWith(".docx")) {
+            return extractTextFromDocx(path);
+        } else {
+            return extractTextFromTxt(path);
+        }
+    }
+
+    private void checkSupported(String filename) {
+        if (filename == null) {
+            throw new IllegalArgumentException("File must have a name");
+        }
+        if (!filename.endsWith(".pdf") && !filename.endsWith(".docx") && !filename.endsWith(".txt")) {
+            throw new IllegalArgumentException("Only PDF, DOCX, and TXT files are supported");
+        }
+    }
+
+    private String extractTextFromPDF(Path path) throws IOException {
+        try (PDDocument document = loadPDF(path)) {
+            int pages = Math.min(maxPages, document.getNumberOfPages());
+            int ranges = Math.min(maxThreadsPerDocument, (pages + pagesPerRange - 1) / pagesPerRange);
+            if (pages < parallelPageThreshold || ranges < 2) {
+                return stripPages(document, 1, pages);
+            }
+            return extractPageRangesInParallel(path, document, pages, ranges);
+        }
+    }
+
+    /**
+     * Splits the first {@code pages} pages into contiguous ranges. The calling thread strips the first
+     * range with the already loaded document; the others are offered to the shared pool, each worker
+     * opening its own document from the spooled file since PDDocument is not thread-safe. Ranges no
+     * worker has picked up by then are stripped inline, so a busy pool never stalls an upload.
+     */
+    private String extractPageRangesInParallel(Path path, PDDocument document, int pages, int ranges) throws IOException {
+        List<PageRangeTask> tasks = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            int startPage = 1 + (int) ((long) pages * i / ranges);
+            int endPage = (int) ((long) pages * (i + 1) / ranges);
+            tasks.add(new PageRangeTask(startPage, endPage));
+        }
+
+        for (PageRangeTask task : tasks.subList(1, tasks.size())) {
+            try {
+                pageExecutor.execute(() -> task.runIfUnclaimed(() -> {
+                    try (PDDocument own = loadPDF(path)) {
+                        return stripPages(own, task.startPage, task.endPage);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                // Pool is saturated; the calling thread will take this range
+            }
+        }
+
+        for (PageRangeTask task : tasks) {
+            task.runIfUnclaimed(() -> stripPages(document, task.startPage, task.endPage));
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (PageRangeTask task : tasks) {
+            String part = task.await();
+            text.append(part, 0, Math.min(part.length(), maxChars - text.length()));
+            if (text.length() >= maxChars) {
+                log.debug("PDF text truncated at {} characters", maxChars);
+                break;
+            }
+        }
+        log.debug("Extracted {} PDF pages in {} parallel ranges", pages, ranges);
+        return text.toString();
+    }
+
+    private PDDocument loadPDF(Path path) throws IOException {
+        RandomAccessRead source = new RandomAccessReadBufferedFile(path);
+        try {
+            // Temp-file-only stream cache keeps decoded streams off the heap
+            return Loader.loadPDF(source, MemoryUsageSetting.setupTempFileOnly().streamCache);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    private String stripPages(PDDocument document, int startPage, int endPage) throws IOException {
+        BoundedTextWriter writer = new BoundedTextWriter(maxChars);
+        try {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            stripper.writeText(document, writer);
+        } catch (TextLimitReachedException e) {
+            log.debug("PDF text truncated at {} characters", maxChars);
+        }
+        return writer.toString();
+    }
+
+    private String extractTextFromDocx(Path path) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry body = zip.getEntry(DOCX_BODY_ENTRY);
+            if (body == null) {
+                throw new IOException("Not a valid DOCX file: missing " + DOCX_BODY_ENTRY);
+            }
+
+            DocxTextHandler handler = new DocxTextHandler(maxChars);
+            try (InputStream in = zip.getInputStream(body)) {
+                XMLReader reader = XMLHelper.newXMLReader();
+                reader.setContentHandler(handler);
+                reader.parse(new InputSource(in));
+            } catch (TextLimitReachedException e) {
+                log.debug("DOCX text truncated at {} characters", maxChars);
+            } catch (SAXException | ParserConfigurationException e) {
+                throw new IOException("Failed to read DOCX content", e);
+            }
+            return handler.getText();
+        }
+    }
+
+    private String extractTextFromTxt(Path path) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(Files.newInputStream(path), Charset.defaultCharset())) {
+            int read;
+            while (text.length() < maxChars && (read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, Math.min(read, maxChars - text.length()));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Collects paragraph text from the WordprocessingML body in a single streaming pass.
+     */
+    private static class DocxTextHandler extends DefaultHandler {
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+        private boolean inText;
+        // Tab elements outside a run are tab-stop definitions in paragraph properties, not text
+        private int runDepth;
+
+        DocxTextHandler(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (elementName(localName, qName)) {
+                case "r" -> runDepth++;
+                case "t" -> inText = true;
+                case "tab" -> {
+                    if (runDepth > 0) {
+                        append('\t');
+                    }
+                }
+                case "br", "cr" -> append('\n');
+                default -> { }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (elementName(localName, qName)) {
+                case "r" -> runDepth--;
+                case "t" -> inText = false;
+                case "p" -> append('\n');
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                int allowed = Math.min(length, maxChars - text.length());
+                text.append(ch, start, allowed);
+                if (allowed < length) {
+                    throw new TextLimitReachedException();
+                }
+            }
+        }
+
+        private void append(char c) {
+            if (text.length() >= maxChars) {
+                throw new TextLimitReachedException();
+            }
+            text.append(c);
+        }
+
+        private static String elementName(String localName, String qName) {
+            if (localName != null && !localName.isEmpty()) {
+                return localName;
+            }
+            int colon = qName.indexOf(':');
+            return colon == -1 ? qName : qName.substring(colon + 1);
+        }
+
+        String getText() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * Writer that keeps at most {@code maxChars} characters and aborts the producer once full.
+     */
+    private static class BoundedTextWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+
+        BoundedTextWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            int allowed = Math.min(len, maxChars - text.length());
+            text.append(cbuf, off, allowed);
+            if (allowed < len) {
+                throw new TextLimitReachedException();
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            int allowed = Math.min(len, maxChars - text.length());
+            text.append(str, off, off + allowed);
+            if (allowed < len) {
+                throw new TextLimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageStripper {
+        String strip() throws IOException;
+    }
+
+    /**
+     * One page range of a document. Whichever thread claims it first (pool worker or the uploading
+     * request thread) strips it.
+     */
+    private static class PageRangeTask {
+        private final int startPage;
+        private final int endPage;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        PageRangeTask(int startPage, int endPage) {
+            this.startPage = startPage;
+            this.endPage = endPage;
+        }
+
+        void runIfUnclaimed(PageStripper stripper) {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(stripper.strip());
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        String await() throws IOException {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while extracting PDF pages", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                throw new IOException("Failed to extract PDF pages " + startPage + "-" + endPage, e.getCause());
+            }
+        }
+    }
+
+    private static class TextLimitReachedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TextLimitReachedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.DuplicateClusterDTO;
+import com.resume.builder.dto.DuplicateMemberDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.MatchFeatures;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.SimHashIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Near-duplicate resumes and job descriptions, found by the Hamming distance between the SimHash
+ * fingerprints of their match features. The fingerprints sit in banded in-memory indexes, loaded
+ * from the features the {@link ResumeIndex} and {@link MatchFeaturesService} already hold and kept
+ * in step with saves and deletes.
+ *
+ * <p>A cluster is led by its most recently updated member, the one a merge keeps and the one scored
+ * when bulk scoring skips duplicates; every other member is within the maximum distance of it.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private final MatchFeaturesService matchFeaturesService;
+    private final ResumeIndex resumeIndex;
+    private final ResumeRepository resumeRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final MatchResultService matchResultService;
+    private final TransactionTemplate transactionTemplate;
+    private final Fingerprints resumes;
+    private final Fingerprints jobDescriptions;
+    private volatile boolean loaded;
+
+    public DuplicateDetectionService(
+            MatchFeaturesService matchFeaturesService,
+            ResumeIndex resumeIndex,
+            ResumeRepository resumeRepository,
+            JobDescriptionRepository jobDescriptionRepository,
+            MatchResultService matchResultService,
+            PlatformTransactionManager transactionManager,
+            @Value("${resume.duplicates.max-distance:6}") int maxDistance) {
+        this.matchFeaturesService = matchFeaturesService;
+        this.resumeIndex = resumeIndex;
+        this.resumeRepository = resumeRepository;
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.matchResultService = matchResultService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resumes = new Fingerprints(maxDistance);
+        this.jobDescriptions = new Fingerprints(maxDistance);
+    }
+
+    /**
+     * Loads the fingerprints of every stored document. Saves and deletes wait for the load, so none
+     * of them is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        resumeIndex.load();
+        resumes.load(resumeIndex::features);
+        jobDescriptions.load(matchFeaturesService::allJobDescriptions);
+        loaded = true;
+        log.info("Indexed fingerprints of {} resumes and {} job descriptions in {} ms",
+            resumes.size(), jobDescriptions.size(), System.currentTimeMillis() - start);
+    }
+
+    /** Indexes the fingerprint of a saved document, replacing an older version of it. */
+    void update(String documentType, Long documentId, MatchFeaturesService.Features features) {
+        fingerprints(documentType).update(documentId, features.version(), features.simHash());
+    }
+
+    void remove(String documentType, Long documentId) {
+        fingerprints(documentType).remove(documentId);
+    }
+
+    public List<DuplicateClusterDTO> resumeClusters() {
+        ensureLoaded();
+        return clusters(resumes, ids -> resumeRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Resume::getId, resume -> new Label(resume.getName(), resume.getUpdatedAt()))));
+    }
+
+    public List<DuplicateClusterDTO> jobDescriptionClusters() {
+        ensureLoaded();
+        return clusters(jobDescriptions, ids -> jobDescriptionRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(JobDescription::getId, jd -> new Label(label(jd), jd.getUpdatedAt()))));
+    }
+
+    /**
+     * Resumes to leave out of bulk scoring: every member but the leader of each cluster formed among
+     * the given ids.
+     *
+     * @param within ids to consider, or null for all
+     */
+    public Set<Long> redundantResumeIds(Set<Long> within) {
+        ensureLoaded();
+        return resumes.redundant(within);
+    }
+
+    public Set<Long> redundantJobDescriptionIds(Set<Long> within) {
+        ensureLoaded();
+        return jobDescriptions.redundant(within);
+    }
+
+    /**
+     * Merges near-duplicates into one resume: blank contact fields of the kept resume are filled
+     * from the duplicates, newest first, then the duplicates are deleted with their match results.
+     *
+     * @param duplicateIds the resumes to merge away, or null or empty for every near-duplicate of the
+     *                     kept one
+     * @return the kept resume, or empty if it does not exist
+     * @throws IllegalArgumentException if a listed resume is not a near-duplicate of the kept one, or
+     *         there is nothing to merge
+     */
+    public Optional<Resume> mergeResumes(Long keepId, List<Long> duplicateIds) {
+        return merge(resumes, "Resume", keepId, duplicateIds, resumeRepository,
+            Resume::getUpdatedAt, (keep, duplicates) -> {
+                for (Resume duplicate : duplicates) {
+                    keep.setName(fill(keep.getName(), duplicate.getName()));
+                    keep.setEmail(fill(keep.getEmail(), duplicate.getEmail()));
+                    keep.setPhone(fill(keep.getPhone(), duplicate.getPhone()));
+                    keep.setLinkedIn(fill(keep.getLinkedIn(), duplicate.getLinkedIn()));
+                    keep.setGithub(fill(keep.getGithub(), duplicate.getGithub()));
+                    matchResultService.deleteForResume(duplicate.getId());
+                    resumeRepository.delete(duplicate);
+                }
+                return resumeRepository.save(keep);
+            });
+    }
+
+    /**
+     * Merges near-duplicate postings into one: a blank title or company of the kept posting is
+     * filled from the duplicates, newest first, then the duplicates are deleted with their match
+     * results.
+     *
+     * @see #mergeResumes
+     */
+    public Optional<JobDescription> mergeJobDescriptions(Long keepId, List<Long> duplicateIds) {
+        return merge(jobDescriptions, "Job description", keepId, duplicateIds, jobDescriptionRepository,
+            JobDescription::getUpdatedAt, (keep, duplicates) -> {
+                for (JobDescription duplicate : duplicates) {
+                    keep.setJobTitle(fill(keep.getJobTitle(), duplicate.getJobTitle()));
+                    keep.setCompanyName(fill(keep.getCompanyName(), duplicate.getCompanyName()));
+                    matchResultService.deleteForJobDescription(duplicate.getId());
+                    jobDescriptionRepository.delete(duplicate);
+                }
+                return jobDescriptionRepository.save(keep);
+            });
+    }
+
+    // One transaction, so the kept document and its duplicates change together
+    private <T> Optional<T> merge(Fingerprints fingerprints, String kind, Long keepId, List<Long> duplicateIds,
+                                  JpaRepository<T, Long> repository, Function<T, LocalDateTime> updatedAt,
+                                  MergeAction<T> action) {
+        ensureLoaded();
+        return transactionTemplate.execute(status -> {
+            Optional<T> keep = repository.findById(keepId);
+            if (keep.isEmpty()) {
+                return Optional.<T>empty();
+            }
+
+            Set<Long> near = fingerprints.near(keepId);
+            List<Long> merged = new ArrayList<>();
+            if (duplicateIds == null || duplicateIds.isEmpty()) {
+                merged.addAll(near);
+            } else {
+                for (Long id : new HashSet<>(duplicateIds)) {
+                    if (!near.contains(id)) {
+                        throw new IllegalArgumentException(kind + " " + id + " is not a near-duplicate of " + keepId);
+                    }
+                    merged.add(id);
+                }
+            }
+            List<T> duplicates = new ArrayList<>(repository.findAllById(merged));
+            if (duplicates.isEmpty()) {
+                throw new IllegalArgumentException(kind + " " + keepId + " has no near-duplicates to merge");
+            }
+            duplicates.sort(Comparator.comparing(updatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+
+            T kept = action.merge(keep.get(), duplicates);
+            log.info("Merged {} near-duplicates into {} {}", duplicates.size(), kind.toLowerCase(), keepId);
+            return Optional.of(kept);
+        });
+    }
+
+    @FunctionalInterface
+    private interface MergeAction<T> {
+        T merge(T keep, List<T> duplicatesNewestFirst);
+    }
+
+    private List<DuplicateClusterDTO> clusters(Fingerprints fingerprints, Function<List<Long>, Map<Long, Label>> labels) {
+        List<Cluster> clusters = fingerprints.clusters(null);
+        List<Long> ids = new ArrayList<>();
+        for (Cluster cluster : clusters) {
+            ids.add(cluster.keepId());
+            cluster.duplicates().forEach(match -> ids.add(match.id()));
+        }
+        Map<Long, Label> found = labels.apply(ids);
+
+        List<DuplicateClusterDTO> results = new ArrayList<>(clusters.size());
+        for (Cluster cluster : clusters) {
+            Label kept = found.get(cluster.keepId());
+            if (kept == null) {
+                // Deleted since the clusters were read
+                continue;
+            }
+            List<DuplicateMemberDTO> members = new ArrayList<>(cluster.duplicates().size() + 1);
+            members.add(new DuplicateMemberDTO(cluster.keepId(), kept.text(), kept.updatedAt(), 0));
+            for (SimHashIndex.Match match : cluster.duplicates()) {
+                Label label = found.get(match.id());
+                if (label != null) {
+                    members.add(new DuplicateMemberDTO(match.id(), label.text(), label.updatedAt(), match.distance()));
+                }
+            }
+            if (members.size() > 1) {
+                results.add(new DuplicateClusterDTO(cluster.keepId(), members));
+            }
+        }
+        return results;
+    }
+
+    // Jobs resumed at startup can ask before the load has run
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private Fingerprints fingerprints(String documentType) {
+        return MatchFeatures.JOB_DESCRIPTION.equals(documentType) ? jobDescriptions : resumes;
+    }
+
+    private static String label(JobDescription jd) {
+        if (jd.getCompanyName() == null || jd.getCompanyName().isBlank()) {
+            return jd.getJobTitle();
+        }
+        return jd.getJobTitle() + " at " + jd.getCompanyName();
+    }
+
+    private static String fill(String current, String candidate) {
+        return current == null || current.isBlank() ? candidate : current;
+    }
+
+    private record Label(String text, LocalDateTime updatedAt) {
+    }
+
+    /** The member to keep and the others, closest first. */
+    private record Cluster(Long keepId, List<SimHashIndex.Match> duplicates) {
+    }
+
+    /** The fingerprint index of one document type and the version each fingerprint belongs to. */
+    private static final class Fingerprints {
+        private SimHashIndex index;
+        private final Map<Long, Long> versions = new HashMap<>();
+
+        Fingerprints(int maxDistance) {
+            this.index = new SimHashIndex(maxDistance);
+        }
+
+        synchronized void load(Supplier<Map<Long, MatchFeaturesService.Features>> features) {
+            index = new SimHashIndex(index.maxDistance());
+            versions.clear();
+            features.get().forEach((id, document) -> update(id, document.version(), document.simHash()));
+        }
+
+        synchronized int size() {
+            return index.size();
+        }
+
+        synchronized void update(Long id, long version, long simHash) {
+            Long current = versions.get(id);
+            if (current != null && current > version) {
+                return;
+            }
+            versions.put(id, version);
+            // A document without keywords has nothing to compare
+            if (simHash == 0L) {
+                index.remove(id);
+            } else {
+                index.add(id, simHash);
+            }
+        }
+
+        synchronized void remove(Long id) {
+            versions.remove(id);
+            index.remove(id);
+        }
+
+        /** Ids within the maximum distance of the id, not counting the id itself. */
+        synchronized Set<Long> near(Long id) {
+            Set<Long> near = new HashSet<>();
+            Long fingerprint = index.get(id);
+            if (fingerprint != null) {
+                index.search(fingerprint).forEach(match -> near.add(match.id()));
+                near.remove(id);
+            }
+            return near;
+        }
+
+        /**
+         * Clusters among the given ids, or all when null: newest first, a document in no cluster yet
+         * leads one, joined by every other such document within the maximum distance of it. Every
+         * member is thus close to the one kept; clusters are never chained through small changes.
+         */
+        synchronized List<Cluster> clusters(Set<Long> within) {
+            List<Long> ids = new ArrayList<>();
+            for (Long id : within == null ? versions.keySet() : within) {
+                if (index.get(id) != null) {
+                    ids.add(id);
+                }
+            }
+            // Ties go to the older document
+            ids.sort(Comparator.comparing((Long id) -> versions.get(id)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+            Set<Long> clustered = new HashSet<>();
+            List<Cluster> clusters = new ArrayList<>();
+            for (Long id : ids) {
+                if (clustered.contains(id)) {
+                    continue;
+                }
+                List<SimHashIndex.Match> duplicates = new ArrayList<>();
+                for (SimHashIndex.Match match : index.search(index.get(id))) {
+                    if (match.id() != id && !clustered.contains(match.id())
+                            && (within == null || within.contains(match.id()))) {
+                        duplicates.add(match);
+                    }
+                }
+                if (!duplicates.isEmpty()) {
+                    clustered.add(id);
+                    duplicates.forEach(match -> clustered.add(match.id()));
+                    clusters.add(new Cluster(id, duplicates));
+                }
+            }
+            return clusters;
+        }
+
+        synchronized Set<Long> redundant(Set<Long> within) {
+            Set<Long> redundant = new HashSet<>();
+            for (Cluster cluster : clusters(within)) {
+                cluster.duplicates().forEach(match -> redundant.add(match.id()));
+            }
+            return redundant;
+        }
+    }
+}
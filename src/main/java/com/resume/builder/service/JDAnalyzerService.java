@@ -1,9 +1,16 @@
 package com.resume.builder.service;
 
+import com.resume.builder.dto.CacheStatsDTO;
 import com.resume.builder.model.JobDescription;
+import com.resume.builder.util.KeywordTokenizer;
+import com.resume.builder.util.LruCache;
+import com.resume.builder.util.TermSet;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,37 +20,96 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JDAnalyzerService {
 
-    private static final Set<String> STOP_WORDS = Set.of(
-        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from",
-        "has", "he", "in", "is", "it", "its", "of", "on", "that", "the",
-        "to", "was", "will", "with", "this", "but", "they", "have"
-    );
+    private final SkillMatcher skillMatcher;
+    private final SkillTaxonomy skillTaxonomy;
+    private final TermDictionary termDictionary;
+    // Analysis results by SHA-256 of the normalized JD text
+    private final LruCache<String, Analysis> analysisCache;
+
+    public JDAnalyzerService(
+            SkillMatcher skillMatcher,
+            SkillTaxonomy skillTaxonomy,
+            TermDictionary termDictionary,
+            @Value("${resume.jd.analysis-cache-size:1000}") int analysisCacheSize) {
+        this.skillMatcher = skillMatcher;
+        this.skillTaxonomy = skillTaxonomy;
+        this.termDictionary = termDictionary;
+        this.analysisCache = new LruCache<>(analysisCacheSize);
+        // Cached skill lists were built with the previous taxonomy
+        skillTaxonomy.addReloadListener(analysisCache::clear);
+    }
 
     public JobDescription analyzeJobDescription(String jdText) {
+        String cacheKey = analysisCacheKey(jdText);
+        Analysis analysis = analysisCache.get(cacheKey);
+        if (analysis == null) {
+            analysis = analyze(jdText);
+            analysisCache.put(cacheKey, analysis);
+        } else {
+            log.debug("Reusing cached analysis for job description {}", cacheKey);
+        }
+
         JobDescription jd = new JobDescription();
         jd.setDescription(jdText);
-        
+        jd.setJobTitle(analysis.jobTitle());
+        jd.setCompanyName(analysis.companyName());
+        jd.setRequiredSkills(analysis.requiredSkills());
+        jd.setPreferredSkills(analysis.preferredSkills());
+        jd.setResponsibilities(analysis.responsibilities());
+        return jd;
+    }
+
+    public CacheStatsDTO getAnalysisCacheStats() {
+        long hits = analysisCache.getHits();
+        long misses = analysisCache.getMisses();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new CacheStatsDTO(analysisCache.size(), analysisCache.getMaxEntries(), hits, misses, hitRate);
+    }
+
+    private Analysis analyze(String jdText) {
         // Extract job title
         String jobTitle = extractJobTitle(jdText);
-        jd.setJobTitle(jobTitle);
         
         // Extract company name (if mentioned)
         String companyName = extractCompanyName(jdText);
-        jd.setCompanyName(companyName);
         
+        // Dictionary skills are found once and shared by the required and preferred lists
+        Set<String> dictionarySkills = skillMatcher.findSkills(jdText);
+
         // Extract required skills
-        Set<String> requiredSkills = extractSkills(jdText, true);
-        jd.setRequiredSkills(String.join(", ", requiredSkills));
+        Set<String> requiredSkills = extractSkills(jdText, dictionarySkills, true);
         
         // Extract preferred skills
-        Set<String> preferredSkills = extractSkills(jdText, false);
-        jd.setPreferredSkills(String.join(", ", preferredSkills));
+        Set<String> preferredSkills = extractSkills(jdText, dictionarySkills, false);
         
         // Extract responsibilities
         String responsibilities = extractResponsibilities(jdText);
-        jd.setResponsibilities(responsibilities);
         
-        return jd;
+        return new Analysis(jobTitle, companyName, String.join(", ", requiredSkills),
+            String.join(", ", preferredSkills), responsibilities);
+    }
+
+    /**
+     * Hash of the JD text with line endings unified, trailing whitespace on each line dropped and
+     * surrounding blank lines trimmed, so re-pasted copies of a posting share one cache entry.
+     */
+    static String analysisCacheKey(String jdText) {
+        StringBuilder normalized = new StringBuilder(jdText.length());
+        int lineStart = 0;
+        for (int i = 0; i <= jdText.length(); i++) {
+            char c = i < jdText.length() ? jdText.charAt(i) : '\n';
+            if (c == '\n' || c == '\r') {
+                int lineEnd = i;
+                while (lineEnd > lineStart && Character.isWhitespace(jdText.charAt(lineEnd - 1))) lineEnd--;
+                normalized.append(jdText, lineStart, lineEnd).append('\n');
+                if (c == '\r' && i + 1 < jdText.length() && jdText.charAt(i + 1) == '\n') i++;
+                lineStart = i + 1;
+            }
+        }
+
+        MessageDigest digest = ResumeFingerprintService.newDigest();
+        digest.update(normalized.toString().strip().getBytes(StandardCharsets.UTF_8));
+        return ResumeFingerprintService.toHex(digest);
     }
 
     private String extractJobTitle(String text) {
@@ -116,40 +182,27 @@ public class JDAnalyzerService {
         return "";
     }
 
-    private Set<String> extractSkills(String text, boolean required) {
-        Set<String> skills = new HashSet<>();
-        
-        // Common technical skills and keywords
-        String[] commonSkills = {
-            "java", "python", "javascript", "react", "angular", "vue", "node.js", "spring boot",
-            "sql", "mysql", "postgresql", "mongodb", "aws", "azure", "docker", "kubernetes",
-            "git", "jenkins", "ci/cd", "rest api", "microservices", "agile", "scrum",
-            "machine learning", "ai", "data analysis", "html", "css", "typescript",
-            "c++", "c#", ".net", "php", "ruby", "go", "kotlin", "swift",
-            "redux", "graphql", "webpack", "linux", "unix", "bash"
-        };
-        
-        String lowerText = text.toLowerCase();
-        
-        // Check for each skill
-        for (String skill : commonSkills) {
-            if (lowerText.contains(skill.toLowerCase())) {
-                skills.add(skill);
-            }
-        }
+    private Set<String> extractSkills(String text, Set<String> dictionarySkills, boolean required) {
+        Set<String> skills = new HashSet<>(dictionarySkills);
         
         // Extract skills from "Required Skills" or "Qualifications" section
         if (required) {
             String requiredSection = extractSectionByKeyword(text, "required", "qualifications", "must have");
-            skills.addAll(extractKeywordsFromText(requiredSection));
+            addCanonicalSkills(skills, extractKeywordsFromText(requiredSection));
         } else {
             String preferredSection = extractSectionByKeyword(text, "preferred", "nice to have", "plus");
-            skills.addAll(extractKeywordsFromText(preferredSection));
+            addCanonicalSkills(skills, extractKeywordsFromText(preferredSection));
         }
         
         return skills;
     }
 
+    private void addCanonicalSkills(Set<String> skills, Set<String> keywords) {
+        for (String keyword : keywords) {
+            skills.add(skillTaxonomy.canonicalizeInText(keyword));
+        }
+    }
+
     private String extractResponsibilities(String text) {
         return extractSectionByKeyword(text,
             "responsibilities", "duties", "you will", "role");
@@ -191,22 +244,20 @@ public class JDAnalyzerService {
 
     private Set<String> extractKeywordsFromText(String text) {
         Set<String> keywords = new HashSet<>();
-        
-        // Split by common delimiters
-        String[] words = text.toLowerCase().split("[\\s,;.()\\[\\]{}]+");
-        
-        for (String word : words) {
-            word = word.trim();
-            // Filter: not empty, not stop word, length > 2
-            if (!word.isEmpty() && !STOP_WORDS.contains(word) && word.length() > 2) {
-                keywords.add(word);
-            }
-        }
-        
+        KeywordTokenizer.tokenize(text, (token, length) -> keywords.add(new String(token, 0, length)));
         return keywords;
     }
 
     public Set<String> extractAllKeywords(String text) {
         return extractKeywordsFromText(text);
     }
+
+    /** Keywords of the text as interned term ids. */
+    public TermSet extractKeywordTerms(String text) {
+        return termDictionary.tokenize(text);
+    }
+
+    private record Analysis(String jobTitle, String companyName, String requiredSkills,
+                            String preferredSkills, String responsibilities) {
+    }
 }
@@ -0,0 +1,176 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.JobRankingDTO;
+import com.resume.builder.dto.RankedJobDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.JobDescriptionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks every stored job description against one resume. Scores come from precomputed match
+ * features and are computed in parallel chunks, each keeping only its best candidates in a bounded
+ * heap; full match results are built for the requested page only.
+ */
+@Service
+@Slf4j
+public class JobRankingService {
+
+    // Best score first; ties go to the older job description so pages are stable
+    private static final Comparator<Candidate> RANKING =
+        Comparator.comparingDouble(Candidate::score).reversed().thenComparingLong(Candidate::jobDescriptionId);
+
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final MatchFeaturesService matchFeaturesService;
+    private final MatchingService matchingService;
+    private final ExecutorService scoringExecutor;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxResults;
+
+    public JobRankingService(
+            JobDescriptionRepository jobDescriptionRepository,
+            MatchFeaturesService matchFeaturesService,
+            MatchingService matchingService,
+            @Value("${resume.ranking.parallelism:0}") int parallelism,
+            @Value("${resume.ranking.chunk-size:2000}") int chunkSize,
+            @Value("${resume.ranking.max-results:1000}") int maxResults) {
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.matchFeaturesService = matchFeaturesService;
+        this.matchingService = matchingService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxResults = maxResults;
+        this.scoringExecutor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "job-ranking");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringExecutor.shutdownNow();
+    }
+
+    private record Candidate(long jobDescriptionId, double score) {
+    }
+
+    /**
+     * One page of the job descriptions that best match the resume, best first.
+     *
+     * @throws IllegalArgumentException if the page is negative, the size is not positive, or the
+     *         page reaches past the configured maximum number of ranked results
+     */
+    public JobRankingDTO rankJobDescriptions(Resume resume, int page, int size) {
+        // In long arithmetic, so a huge page cannot wrap around and pass the check
+        long end = ((long) page + 1) * size;
+        if (page < 0 || size < 1 || end > maxResults) {
+            throw new IllegalArgumentException("Only the top " + maxResults + " job descriptions can be ranked");
+        }
+        int limit = (int) end;
+
+        long start = System.nanoTime();
+        MatchFeaturesService.Features resumeFeatures = matchFeaturesService.forResume(resume);
+        Map<Long, MatchFeaturesService.Features> jdFeatures = matchFeaturesService.allJobDescriptions();
+
+        // Copy to arrays so chunks can index them; the map may change while ranking
+        long[] ids = new long[jdFeatures.size()];
+        MatchFeaturesService.Features[] features = new MatchFeaturesService.Features[ids.length];
+        int count = 0;
+        for (Map.Entry<Long, MatchFeaturesService.Features> entry : jdFeatures.entrySet()) {
+            if (count == ids.length) {
+                break;
+            }
+            ids[count] = entry.getKey();
+            features[count++] = entry.getValue();
+        }
+
+        List<Candidate> top = topCandidates(resumeFeatures, ids, features, count, limit);
+        List<Candidate> pageCandidates = top.subList(Math.min(top.size(), page * size), top.size());
+        log.debug("Ranked {} job descriptions for resume {} in {} ms", count, resume.getId(),
+            (System.nanoTime() - start) / 1_000_000);
+
+        Map<Long, JobDescription> jds = jobDescriptionRepository
+            .findAllById(pageCandidates.stream().map(Candidate::jobDescriptionId).toList())
+            .stream()
+            .collect(Collectors.toMap(JobDescription::getId, Function.identity()));
+
+        List<RankedJobDTO> results = new ArrayList<>();
+        int rank = page * size;
+        for (Candidate candidate : pageCandidates) {
+            rank++;
+            JobDescription jd = jds.get(candidate.jobDescriptionId());
+            if (jd == null) {
+                // Deleted while ranking
+                continue;
+            }
+            results.add(new RankedJobDTO(rank, jd.getId(), jd.getJobTitle(), jd.getCompanyName(),
+                matchingService.calculateMatch(resume, jd)));
+        }
+        return new JobRankingDTO(resume.getId(), page, size, count, results);
+    }
+
+    /** The best {@code limit} candidates in ranking order, scored in parallel chunks. */
+    private List<Candidate> topCandidates(MatchFeaturesService.Features resumeFeatures, long[] ids,
+                                          MatchFeaturesService.Features[] features, int count, int limit) {
+        int chunk = Math.max(chunkSize, (count + parallelism - 1) / parallelism);
+        List<Future<PriorityQueue<Candidate>>> chunks = new ArrayList<>();
+        for (int from = 0; from < count; from += chunk) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(count, from + chunk);
+            chunks.add(scoringExecutor.submit(() -> {
+                // Min-heap on ranking order: the head is the weakest candidate kept so far
+                PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, RANKING.reversed());
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    offer(heap, new Candidate(ids[i], matchingService.overallScore(resumeFeatures, features[i])), limit);
+                }
+                return heap;
+            }));
+        }
+
+        PriorityQueue<Candidate> merged = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        try {
+            for (Future<PriorityQueue<Candidate>> result : chunks) {
+                for (Candidate candidate : result.get()) {
+                    offer(merged, candidate, limit);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("Interrupted while ranking job descriptions", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("Failed to rank job descriptions", e.getCause());
+        }
+
+        List<Candidate> top = new ArrayList<>(merged);
+        top.sort(RANKING);
+        return top;
+    }
+
+    private static void offer(PriorityQueue<Candidate> heap, Candidate candidate, int limit) {
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (RANKING.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+}
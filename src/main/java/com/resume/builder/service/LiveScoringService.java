@@ -0,0 +1,394 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.LiveScoreDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.Resume;
+import com.resume.builder.util.HashedEmbedding;
+import com.resume.builder.util.KeywordTokenizer;
+import com.resume.builder.util.TermSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Live re-scoring of a resume against one pinned job description while the resume is edited.
+ * A session keeps the resume's term counts and semantic vector per section and the running
+ * intersection sizes with the job description, so an edit re-tokenizes only the sections it
+ * changes and the score is updated from the difference. Scores are pushed to subscribers over
+ * server-sent events; sessions hold a draft and never write the resume.
+ *
+ * <p>Edits arrive keystroke by keystroke, so sessions only look terms up in the
+ * {@link TermDictionary} and never intern them: half-typed words would otherwise stay in it for
+ * the life of the process.
+ */
+@Service
+@Slf4j
+public class LiveScoringService {
+
+    // Sections that make up the keyword text, as in MatchText
+    private static final Set<String> TEXT_SECTIONS =
+        Set.of("summary", "experience", "education", "skills", "projects", "certifications");
+    // Fields that only count towards the ATS score
+    private static final Set<String> CONTACT_FIELDS = Set.of("name", "email", "phone");
+
+    private final TermDictionary termDictionary;
+    private final MatchingService matchingService;
+    private final MatchFeaturesService matchFeaturesService;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Duration idleTimeout;
+    private final long sseTimeoutMillis;
+    private final int maxSessions;
+
+    public LiveScoringService(
+            TermDictionary termDictionary,
+            MatchingService matchingService,
+            MatchFeaturesService matchFeaturesService,
+            @Value("${resume.live.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+            @Value("${resume.live.sse-timeout-ms:1800000}") long sseTimeoutMillis,
+            @Value("${resume.live.max-sessions:1000}") int maxSessions) {
+        this.termDictionary = termDictionary;
+        this.matchingService = matchingService;
+        this.matchFeaturesService = matchFeaturesService;
+        this.idleTimeout = Duration.ofMinutes(idleTimeoutMinutes);
+        this.sseTimeoutMillis = sseTimeoutMillis;
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Starts a session on the stored state of the resume and returns its initial score.
+     *
+     * @throws IllegalStateException when the maximum number of sessions is open
+     */
+    public LiveScoreDTO open(Resume resume, JobDescription jd) {
+        if (sessions.size() >= maxSessions) {
+            evictIdleSessions();
+            if (sessions.size() >= maxSessions) {
+                throw new IllegalStateException("Too many live scoring sessions: " + sessions.size());
+            }
+        }
+
+        Session session = new Session(UUID.randomUUID().toString(), resume.getId(), jd.getId(),
+            matchFeaturesService.forJobDescription(jd));
+        synchronized (session) {
+            for (String field : CONTACT_FIELDS) {
+                session.apply(field, read(resume, field));
+            }
+            for (String section : TEXT_SECTIONS) {
+                session.apply(section, read(resume, section));
+            }
+        }
+        sessions.put(session.id, session);
+        log.debug("Opened live scoring session {} for resume {} and job description {}",
+            session.id, resume.getId(), jd.getId());
+        return session.snapshot();
+    }
+
+    public Optional<LiveScoreDTO> getScore(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId)).map(Session::snapshot);
+    }
+
+    /**
+     * Applies edited fields, keyed by resume field name, to the session's draft and pushes the new
+     * score. A null value clears the field.
+     *
+     * @throws IllegalArgumentException if a field is not one that affects the score
+     */
+    public Optional<LiveScoreDTO> update(String sessionId, Map<String, String> changes) {
+        for (String field : changes.keySet()) {
+            if (!TEXT_SECTIONS.contains(field) && !CONTACT_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown resume field: " + field);
+            }
+        }
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return Optional.empty();
+        }
+
+        LiveScoreDTO score;
+        synchronized (session) {
+            for (Map.Entry<String, String> change : changes.entrySet()) {
+                session.apply(change.getKey(), change.getValue());
+            }
+            session.revision++;
+            session.updatedAt = LocalDateTime.now();
+            score = session.snapshot();
+        }
+        session.publish(score);
+        return Optional.of(score);
+    }
+
+    public Optional<SseEmitter> subscribe(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        session.addSubscriber(emitter);
+        return Optional.of(emitter);
+    }
+
+    public boolean close(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.closeSubscribers();
+        return true;
+    }
+
+    /** Closes sessions not edited within the idle timeout, with their event streams. */
+    @Scheduled(fixedDelayString = "${resume.live.eviction-interval-ms:60000}")
+    public void evictIdleSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleTimeout);
+        sessions.values().removeIf(session -> {
+            if (session.lastUpdated().isAfter(cutoff)) {
+                return false;
+            }
+            session.closeSubscribers();
+            return true;
+        });
+    }
+
+    private static String read(Resume resume, String field) {
+        return switch (field) {
+            case "name" -> resume.getName();
+            case "email" -> resume.getEmail();
+            case "phone" -> resume.getPhone();
+            case "summary" -> resume.getSummary();
+            case "experience" -> resume.getExperience();
+            case "education" -> resume.getEducation();
+            case "skills" -> resume.getSkills();
+            case "projects" -> resume.getProjects();
+            case "certifications" -> resume.getCertifications();
+            default -> throw new IllegalArgumentException("Unknown resume field: " + field);
+        };
+    }
+
+    private static void write(Resume resume, String field, String value) {
+        switch (field) {
+            case "name" -> resume.setName(value);
+            case "email" -> resume.setEmail(value);
+            case "phone" -> resume.setPhone(value);
+            case "summary" -> resume.setSummary(value);
+            case "experience" -> resume.setExperience(value);
+            case "education" -> resume.setEducation(value);
+            case "skills" -> resume.setSkills(value);
+            case "projects" -> resume.setProjects(value);
+            case "certifications" -> resume.setCertifications(value);
+            default -> throw new IllegalArgumentException("Unknown resume field: " + field);
+        }
+    }
+
+    /** A section's length in tokens and its occurrences of each JD keyword, in the order of jdKeywords. */
+    private record SectionCounts(int length, int[] keywordCounts) {
+    }
+
+    // Same as TermSet.jaccard, from the two set sizes and their intersection
+    private static double jaccard(int common, int size, int otherSize) {
+        return size == 0 || otherSize == 0 ? 0.0 : (double) common / (size + otherSize - common);
+    }
+
+    private class Session {
+        private final String id;
+        private final Long resumeId;
+        private final Long jobDescriptionId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+        private final TermSet jdKeywords;
+        private final TermSet jdSkills;
+        private final TermSet jdSectionTerms;
+        private final float[] jdEmbedding;
+
+        // Draft holding the fields the ATS score looks at
+        private final Resume draft = new Resume();
+        private final Map<String, SectionCounts> sectionCounts = new HashMap<>();
+        // Occurrences of each JD keyword in the whole resume, in the order of jdKeywords
+        private final int[] keywordCounts;
+        private int length;
+        private int matchedKeywords;
+        // Ids of the listed skills that are already known; the count includes the others
+        private TermSet skills = TermSet.EMPTY;
+        private int skillCount;
+        private int sharedSkills;
+        private int experienceTermCount;
+        private int sharedExperienceTerms;
+        private final Map<String, float[]> sectionEmbeddings = new HashMap<>();
+        // Sum of the sections' unnormalized semantic vectors
+        private final double[] embedding;
+        private long revision;
+        private LocalDateTime updatedAt = createdAt;
+
+        Session(String id, Long resumeId, Long jobDescriptionId, MatchFeaturesService.Features jdFeatures) {
+            this.id = id;
+            this.resumeId = resumeId;
+            this.jobDescriptionId = jobDescriptionId;
+            this.jdKeywords = jdFeatures.keywords().terms();
+            this.jdSkills = jdFeatures.skills();
+            this.jdSectionTerms = jdFeatures.sectionTerms();
+            this.keywordCounts = new int[jdKeywords.size()];
+            this.jdEmbedding = jdFeatures.embedding();
+            this.embedding = new double[jdEmbedding.length];
+        }
+
+        synchronized LocalDateTime lastUpdated() {
+            return updatedAt;
+        }
+
+        void apply(String field, String value) {
+            write(draft, field, value);
+            if (!TEXT_SECTIONS.contains(field)) {
+                return;
+            }
+
+            Set<String> distinctTerms = "experience".equals(field) ? new HashSet<>() : null;
+            SectionCounts before = sectionCounts.get(field);
+            SectionCounts after = count(value, distinctTerms);
+            sectionCounts.put(field, after);
+            length += after.length() - (before == null ? 0 : before.length());
+
+            float[] previousEmbedding = sectionEmbeddings.get(field);
+            float[] sectionEmbedding = matchFeaturesService.sectionEmbedding(value);
+            sectionEmbeddings.put(field, sectionEmbedding);
+            for (int k = 0; k < embedding.length; k++) {
+                embedding[k] += sectionEmbedding[k] - (previousEmbedding == null ? 0f : previousEmbedding[k]);
+            }
+
+            for (int index = 0; index < keywordCounts.length; index++) {
+                adjustKeyword(index, after.keywordCounts()[index] - (before == null ? 0 : before.keywordCounts()[index]));
+            }
+
+            if ("skills".equals(field)) {
+                Set<String> listed = matchFeaturesService.skillConfidences(value).keySet();
+                skills = knownTerms(listed);
+                skillCount = listed.size();
+                sharedSkills = jdSkills.intersectionSize(skills);
+            } else if ("experience".equals(field)) {
+                experienceTermCount = distinctTerms.size();
+                sharedExperienceTerms = jdSectionTerms.intersectionSize(knownTerms(distinctTerms));
+            }
+        }
+
+        /**
+         * Counts the tokens of a section and its occurrences of each JD keyword, looking the tokens up
+         * without interning them; distinct tokens are collected when a set is given.
+         */
+        private SectionCounts count(String text, Set<String> distinctTerms) {
+            int[] counts = new int[jdKeywords.size()];
+            int[] tokens = new int[1];
+            if (text != null) {
+                KeywordTokenizer.tokenize(text, (token, tokenLength) -> {
+                    tokens[0]++;
+                    int index = jdKeywords.indexOf(termDictionary.find(token, tokenLength));
+                    if (index >= 0) {
+                        counts[index]++;
+                    }
+                    if (distinctTerms != null) {
+                        distinctTerms.add(new String(token, 0, tokenLength));
+                    }
+                });
+            }
+            return new SectionCounts(tokens[0], counts);
+        }
+
+        // Terms never interned cannot be shared with the job description, so they are left out
+        private TermSet knownTerms(Set<String> terms) {
+            int[] ids = new int[terms.size()];
+            int count = 0;
+            for (String term : terms) {
+                int id = termDictionary.find(term);
+                if (id != -1) {
+                    ids[count++] = id;
+                }
+            }
+            return TermSet.of(ids, count);
+        }
+
+        private void adjustKeyword(int index, int delta) {
+            if (delta == 0) {
+                return;
+            }
+            int previous = keywordCounts[index];
+            keywordCounts[index] += delta;
+            if (previous == 0) {
+                matchedKeywords++;
+            } else if (keywordCounts[index] == 0) {
+                matchedKeywords--;
+            }
+        }
+
+        synchronized LiveScoreDTO snapshot() {
+            double skillsMatch = jaccard(sharedSkills, jdSkills.size(), skillCount);
+            double keywordMatch = matchingService.keywordMatch(jdKeywords, keywordCounts, length);
+            double experienceMatch = jaccard(sharedExperienceTerms, jdSectionTerms.size(), experienceTermCount);
+            double semanticMatch = matchingService.semanticMatch(unitEmbedding(), jdEmbedding);
+            double overallScore = matchingService.combine(skillsMatch, keywordMatch, experienceMatch, semanticMatch);
+            double atsScore = matchingService.atsScore(draft, matchedKeywords, jdKeywords.size());
+
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < jdSkills.size(); i++) {
+                int skill = jdSkills.get(i);
+                (skills.contains(skill) ? matched : missing).add(termDictionary.term(skill));
+            }
+
+            return new LiveScoreDTO(id, resumeId, jobDescriptionId, revision, overallScore * 100,
+                skillsMatch * 100, experienceMatch * 100, keywordMatch * 100, semanticMatch * 100, atsScore,
+                matched, missing, updatedAt);
+        }
+
+        private float[] unitEmbedding() {
+            float[] sum = new float[embedding.length];
+            for (int k = 0; k < sum.length; k++) {
+                sum[k] = (float) embedding[k];
+            }
+            return HashedEmbedding.normalize(sum);
+        }
+
+        void addSubscriber(SseEmitter emitter) {
+            emitter.onCompletion(() -> subscribers.remove(emitter));
+            emitter.onTimeout(() -> subscribers.remove(emitter));
+            subscribers.add(emitter);
+            // Start the gauge from the current score
+            send(emitter, snapshot());
+        }
+
+        void publish(LiveScoreDTO score) {
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, score);
+            }
+        }
+
+        void closeSubscribers() {
+            for (SseEmitter emitter : subscribers) {
+                emitter.complete();
+            }
+            subscribers.clear();
+        }
+
+        private void send(SseEmitter emitter, LiveScoreDTO score) {
+            try {
+                emitter.send(SseEmitter.event().name("score").data(score));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.resume.builder.service;
+
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.MatchFeatures;
+import com.resume.builder.model.Resume;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link CorpusStatistics}, the stored {@link MatchFeaturesService}
+ * features, the {@link ResumeIndex} and the {@link DuplicateDetectionService} fingerprints in step
+ * with saved and deleted resumes and job descriptions. Changes are applied once the surrounding
+ * transaction commits, so a rollback leaves them untouched.
+ */
+@Component
+public class MatchDocumentListener {
+
+    // Resolved lazily: these services depend on repositories, which need this listener to exist first
+    private final ObjectProvider<CorpusStatistics> corpusStatistics;
+    private final ObjectProvider<MatchFeaturesService> matchFeaturesService;
+    private final ObjectProvider<ResumeIndex> resumeIndex;
+    private final ObjectProvider<DuplicateDetectionService> duplicateDetectionService;
+
+    public MatchDocumentListener(ObjectProvider<CorpusStatistics> corpusStatistics,
+                                 ObjectProvider<MatchFeaturesService> matchFeaturesService,
+                                 ObjectProvider<ResumeIndex> resumeIndex,
+                                 ObjectProvider<DuplicateDetectionService> duplicateDetectionService) {
+        this.corpusStatistics = corpusStatistics;
+        this.matchFeaturesService = matchFeaturesService;
+        this.resumeIndex = resumeIndex;
+        this.duplicateDetectionService = duplicateDetectionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        CorpusStatistics statistics = corpusStatistics.getObject();
+        MatchFeaturesService featuresService = matchFeaturesService.getObject();
+        ResumeIndex index = resumeIndex.getObject();
+        DuplicateDetectionService duplicates = duplicateDetectionService.getObject();
+        // Tokenize now, while the entity still holds the state that is being committed
+        if (entity instanceof Resume resume) {
+            CorpusStatistics.Document document = statistics.describe(resume);
+            MatchFeaturesService.Features features = featuresService.compute(resume);
+            afterCommit(() -> {
+                statistics.record(document);
+                featuresService.refresh(MatchFeatures.RESUME, resume.getId(), features);
+                index.update(resume.getId(), features);
+                duplicates.update(MatchFeatures.RESUME, resume.getId(), features);
+            });
+        } else if (entity instanceof JobDescription jd) {
+            CorpusStatistics.Document document = statistics.describe(jd);
+            MatchFeaturesService.Features features = featuresService.compute(jd);
+            afterCommit(() -> {
+                statistics.record(document);
+                featuresService.refresh(MatchFeatures.JOB_DESCRIPTION, jd.getId(), features);
+                duplicates.update(MatchFeatures.JOB_DESCRIPTION, jd.getId(), features);
+            });
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        CorpusStatistics statistics = corpusStatistics.getObject();
+        MatchFeaturesService featuresService = matchFeaturesService.getObject();
+        ResumeIndex index = resumeIndex.getObject();
+        DuplicateDetectionService duplicates = duplicateDetectionService.getObject();
+        if (entity instanceof Resume resume) {
+            afterCommit(() -> {
+                statistics.removeResume(resume.getId());
+                featuresService.remove(MatchFeatures.RESUME, resume.getId());
+                index.remove(resume.getId());
+                duplicates.remove(MatchFeatures.RESUME, resume.getId());
+            });
+        } else if (entity instanceof JobDescription jd) {
+            afterCommit(() -> {
+                statistics.removeJobDescription(jd.getId());
+                featuresService.remove(MatchFeatures.JOB_DESCRIPTION, jd.getId());
+                duplicates.remove(MatchFeatures.JOB_DESCRIPTION, jd.getId());
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package com.resume.builder.service;
+
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.MatchFeatures;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.DocumentVersion;
+import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.repository.MatchFeaturesRepository;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.HashedEmbedding;
+import com.resume.builder.util.LruCache;
+import com.resume.builder.util.SimHash;
+import com.resume.builder.util.TermFrequencies;
+import com.resume.builder.util.TermSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tokenized match features of resumes and job descriptions: canonical skill ids, keyword
+ * frequencies, section keywords, a hashed semantic vector and a SimHash fingerprint. Features are
+ * computed once per document version, persisted in the match_features table and kept in memory, so
+ * matching is set arithmetic over ids.
+ *
+ * <p>Job description features are all held in memory, loaded at startup, so a resume can be ranked
+ * against every job description without touching the database; resume features sit in an LRU.
+ * Saved documents are refreshed in the background after commit, and a lookup whose stored version
+ * does not match the document recomputes the features on the spot.
+ */
+@Service
+@Slf4j
+public class MatchFeaturesService {
+
+    // Ids per IN query and rows per save when features are loaded or stored in bulk
+    private static final int BATCH_SIZE = 500;
+
+    // Bump when features computed from the same document would change; 3 resolves misspelled skills,
+    // 4 stores how sure each correction is
+    private static final int FORMAT_VERSION = 4;
+
+    // SQLSTATE of a unique key conflict
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final MatchFeaturesRepository featuresRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final ResumeRepository resumeRepository;
+    private final TermDictionary termDictionary;
+    private final SkillMatcher skillMatcher;
+    private final HashedEmbedding embedding;
+    private final LruCache<Long, Features> resumeFeatures;
+    private final Map<Long, Features> jobDescriptionFeatures = new ConcurrentHashMap<>();
+    private volatile boolean jobDescriptionsLoaded;
+    private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public MatchFeaturesService(
+            MatchFeaturesRepository featuresRepository,
+            JobDescriptionRepository jobDescriptionRepository,
+            ResumeRepository resumeRepository,
+            TermDictionary termDictionary,
+            SkillTaxonomy skillTaxonomy,
+            SkillMatcher skillMatcher,
+            @Value("${resume.features.cache-size:5000}") int cacheSize,
+            @Value("${resume.features.refresh-queue-capacity:1000}") int refreshQueueCapacity,
+            @Value("${resume.semantic.dimensions:256}") int embeddingDimensions) {
+        this.featuresRepository = featuresRepository;
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.resumeRepository = resumeRepository;
+        this.termDictionary = termDictionary;
+        this.skillMatcher = skillMatcher;
+        this.embedding = new HashedEmbedding(embeddingDimensions);
+        this.resumeFeatures = new LruCache<>(cacheSize);
+        // Refreshes that do not fit the queue are dropped; the next lookup computes them instead
+        this.refreshExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(refreshQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "match-features-refresh");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+        skillTaxonomy.addReloadListener(this::invalidateAll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Features of one document version; skill and keyword ids are valid for this process only. Only
+     * skills corrected from a misspelling have a confidence below 1.0, kept by skill id. The
+     * embedding is unit length, or all zeros for a document without keywords, as is the SimHash.
+     */
+    public record Features(long version, TermSet skills, Map<Integer, Double> skillConfidences,
+                           TermFrequencies keywords, TermSet sectionTerms, float[] embedding, long simHash) {
+
+        /** How sure the document's skill list is to mean the skill: 1.0 unless a misspelling was corrected to it. */
+        public double skillConfidence(int skill) {
+            return skillConfidences.getOrDefault(skill, 1.0);
+        }
+    }
+
+    /** Canonical skill ids of a skill list, with the confidence of those corrected from a misspelling. */
+    private record SkillList(TermSet skills, Map<Integer, Double> confidences) {
+    }
+
+    public Features forResume(Resume resume) {
+        long version = MatchText.version(resume.getUpdatedAt());
+        return lookup(MatchFeatures.RESUME, resume.getId(), version, () -> computeResume(resume, version));
+    }
+
+    public Features forJobDescription(JobDescription jd) {
+        long version = MatchText.version(jd.getUpdatedAt());
+        return lookup(MatchFeatures.JOB_DESCRIPTION, jd.getId(), version, () -> computeJobDescription(jd, version));
+    }
+
+    /** Read-only view of the features of every stored job description, keyed by id. */
+    public Map<Long, Features> allJobDescriptions() {
+        if (!jobDescriptionsLoaded) {
+            loadJobDescriptions();
+        }
+        return Collections.unmodifiableMap(jobDescriptionFeatures);
+    }
+
+    /** Loads the features of every job description into memory. */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadJobDescriptions() {
+        if (jobDescriptionsLoaded) {
+            return;
+        }
+        loadAll(MatchFeatures.JOB_DESCRIPTION, jobDescriptionRepository.findAllVersions(), ids -> {
+            Map<Long, Features> computed = new HashMap<>();
+            jobDescriptionRepository.findAllById(ids).forEach(jd -> computed.put(jd.getId(), compute(jd)));
+            return computed;
+        }).forEach((id, features) -> cache(MatchFeatures.JOB_DESCRIPTION, id, features));
+        jobDescriptionsLoaded = true;
+    }
+
+    /** Features of every stored resume, keyed by id; the resume LRU is left untouched. */
+    public synchronized Map<Long, Features> loadAllResumes() {
+        return loadAll(MatchFeatures.RESUME, resumeRepository.findAllVersions(), ids -> {
+            Map<Long, Features> computed = new HashMap<>();
+            resumeRepository.findAllById(ids).forEach(resume -> computed.put(resume.getId(), compute(resume)));
+            return computed;
+        });
+    }
+
+    /** Called after a taxonomy reload has dropped every cached and stored feature. */
+    public void addInvalidationListener(Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Features of every listed document: stored rows are reused when their version matches, the
+     * rest are computed in batches and stored in the background.
+     */
+    private Map<Long, Features> loadAll(String documentType, List<DocumentVersion> documentVersions,
+                                        Function<List<Long>, Map<Long, Features>> computeBatch) {
+        long start = System.currentTimeMillis();
+        Map<Long, Long> versions = new HashMap<>();
+        for (DocumentVersion version : documentVersions) {
+            versions.put(version.getId(), MatchText.version(version.getUpdatedAt()));
+        }
+
+        // One pass over the stored rows; a query per batch of ids is far slower on large tables
+        Map<Long, Features> loaded = new HashMap<>(versions.size() * 2);
+        Map<Long, MatchFeatures> rows = new HashMap<>();
+        for (MatchFeatures row : featuresRepository.findByDocumentType(documentType)) {
+            Long version = versions.get(row.getDocumentId());
+            if (version != null && isCurrent(row, version)) {
+                loaded.put(row.getDocumentId(), fromRow(row));
+            } else {
+                rows.put(row.getDocumentId(), row);
+            }
+        }
+
+        List<Long> stale = new ArrayList<>();
+        for (Long id : versions.keySet()) {
+            if (!loaded.containsKey(id)) {
+                stale.add(id);
+            }
+        }
+        for (int from = 0; from < stale.size(); from += BATCH_SIZE) {
+            Map<Long, Features> fresh = computeBatch.apply(stale.subList(from, Math.min(stale.size(), from + BATCH_SIZE)));
+            loaded.putAll(fresh);
+            refreshExecutor.execute(() -> storeAll(documentType, fresh, rows));
+        }
+        log.info("Loaded match features of {} {} documents ({} computed) in {} ms",
+            versions.size(), documentType, stale.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /** Features of the document's current state, computed without touching the cache or the table. */
+    Features compute(Resume resume) {
+        return computeResume(resume, MatchText.version(resume.getUpdatedAt()));
+    }
+
+    Features compute(JobDescription jd) {
+        return computeJobDescription(jd, MatchText.version(jd.getUpdatedAt()));
+    }
+
+    /** Caches the features of a saved document and stores them in the background. */
+    void refresh(String documentType, Long documentId, Features features) {
+        cache(documentType, documentId, features);
+        refreshExecutor.execute(() -> store(documentType, documentId, features));
+    }
+
+    void remove(String documentType, Long documentId) {
+        if (MatchFeatures.JOB_DESCRIPTION.equals(documentType)) {
+            jobDescriptionFeatures.remove(documentId);
+        } else {
+            resumeFeatures.remove(documentId);
+        }
+        refreshExecutor.execute(() -> featuresRepository.deleteByDocument(documentType, documentId));
+    }
+
+    private Features lookup(String documentType, Long documentId, long version,
+                            Supplier<Features> compute) {
+        if (documentId == null) {
+            // Unsaved document; nothing to cache against
+            return compute.get();
+        }
+
+        Features cached = cached(documentType, documentId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        Optional<MatchFeatures> stored = featuresRepository.findByDocumentTypeAndDocumentId(documentType, documentId)
+            .filter(row -> isCurrent(row, version));
+        if (stored.isPresent()) {
+            Features features = fromRow(stored.get());
+            cache(documentType, documentId, features);
+            return features;
+        }
+
+        Features features = compute.get();
+        cache(documentType, documentId, features);
+        store(documentType, documentId, features);
+        return features;
+    }
+
+    private Features cached(String documentType, Long documentId) {
+        return MatchFeatures.JOB_DESCRIPTION.equals(documentType)
+            ? jobDescriptionFeatures.get(documentId)
+            : resumeFeatures.get(documentId);
+    }
+
+    // Keeps the newest version when a refresh and a lookup race
+    private void cache(String documentType, Long documentId, Features features) {
+        if (MatchFeatures.JOB_DESCRIPTION.equals(documentType)) {
+            jobDescriptionFeatures.merge(documentId, features,
+                (current, candidate) -> current.version() > candidate.version() ? current : candidate);
+            return;
+        }
+        Features current = resumeFeatures.get(documentId);
+        if (current == null || current.version() <= features.version()) {
+            resumeFeatures.put(documentId, features);
+        }
+    }
+
+    private Features computeResume(Resume resume, long version) {
+        String text = MatchText.of(resume);
+        SkillList skills = skillList(resume.getSkills());
+        return new Features(version,
+            skills.skills(),
+            skills.confidences(),
+            termDictionary.countTerms(text),
+            resume.getExperience() == null ? TermSet.EMPTY : termDictionary.tokenize(resume.getExperience()),
+            embedding.embed(resume.getSummary(), resume.getExperience(), resume.getEducation(),
+                resume.getSkills(), resume.getProjects(), resume.getCertifications()),
+            SimHash.of(text));
+    }
+
+    private Features computeJobDescription(JobDescription jd, long version) {
+        String text = MatchText.of(jd);
+        SkillList skills = skillList(jd.getRequiredSkills());
+        return new Features(version,
+            skills.skills(),
+            skills.confidences(),
+            termDictionary.countTerms(text),
+            jd.getResponsibilities() == null ? TermSet.EMPTY : termDictionary.tokenize(jd.getResponsibilities()),
+            embedding.embed(jd.getDescription(), jd.getRequiredSkills(), jd.getPreferredSkills(),
+                jd.getResponsibilities()),
+            SimHash.of(text));
+    }
+
+    /** Unnormalized semantic vector of one resume section, to be summed as in {@link #forResume}. */
+    float[] sectionEmbedding(String text) {
+        return embedding.section(text);
+    }
+
+    // Rows of an older format or another embedding dimension are recomputed; the length is that of the Base64 text
+    private boolean isCurrent(MatchFeatures row, long version) {
+        return row.getDocumentVersion() == version
+            && Integer.valueOf(FORMAT_VERSION).equals(row.getFormatVersion())
+            && row.getEmbedding() != null
+            && row.getEmbedding().length() == (embedding.dimensions() * Float.BYTES + 2) / 3 * 4;
+    }
+
+    /** Skills of a comma, semicolon or newline separated skill list, misspellings resolved. */
+    private SkillList skillList(String skillsText) {
+        List<SkillMatcher.Resolution> skills = resolveSkills(skillsText);
+        int[] ids = new int[skills.size()];
+        Map<Integer, Double> confidences = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = termDictionary.intern(skills.get(i).canonicalName());
+            confidences.merge(ids[i], skills.get(i).confidence(), Math::max);
+        }
+        // A skill also written correctly elsewhere in the list is certain
+        confidences.values().removeIf(confidence -> confidence >= 1.0);
+        return new SkillList(TermSet.of(ids, ids.length), confidences.isEmpty() ? Map.of() : Map.copyOf(confidences));
+    }
+
+    /**
+     * Confidence of each canonical skill of the list, resolved as for {@link Features#skills}: 1.0
+     * when it is written as known, lower when a misspelling was corrected to it.
+     */
+    public Map<String, Double> skillConfidences(String skillsText) {
+        Map<String, Double> confidences = new HashMap<>();
+        for (SkillMatcher.Resolution skill : resolveSkills(skillsText)) {
+            confidences.merge(skill.canonicalName(), skill.confidence(), Math::max);
+        }
+        return confidences;
+    }
+
+    private List<SkillMatcher.Resolution> resolveSkills(String skillsText) {
+        List<SkillMatcher.Resolution> skills = new ArrayList<>();
+        if (skillsText == null || skillsText.isEmpty()) {
+            return skills;
+        }
+        for (String part : skillsText.split("[,;\\n]")) {
+            String skill = part.trim();
+            if (!skill.isEmpty()) {
+                skills.add(skillMatcher.resolve(skill));
+            }
+        }
+        return skills;
+    }
+
+    private void store(String documentType, Long documentId, Features features) {
+        try {
+            MatchFeatures row = featuresRepository.findByDocumentTypeAndDocumentId(documentType, documentId)
+                .orElseGet(MatchFeatures::new);
+            if (row.getDocumentVersion() != null && row.getDocumentVersion() > features.version()) {
+                return;
+            }
+            featuresRepository.save(toRow(row, documentType, documentId, features));
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicate(e)) {
+                log.warn("Could not store match features for {} {}", documentType, documentId, e);
+                return;
+            }
+            // Another thread stored the same document first
+            log.debug("Match features for {} {} were stored concurrently", documentType, documentId);
+        }
+    }
+
+    /** Stores a batch of features, updating the given existing rows in place. */
+    private void storeAll(String documentType, Map<Long, Features> features, Map<Long, MatchFeatures> existing) {
+        List<MatchFeatures> rows = new ArrayList<>(features.size());
+        features.forEach((documentId, documentFeatures) ->
+            rows.add(toRow(existing.getOrDefault(documentId, new MatchFeatures()), documentType, documentId, documentFeatures)));
+        try {
+            featuresRepository.saveAll(rows);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicate(e)) {
+                log.warn("Could not store a batch of {} match features for {}", rows.size(), documentType, e);
+                return;
+            }
+            // Lookups store the remaining documents one at a time
+            log.debug("Match features batch for {} overlapped a concurrent store", documentType);
+        }
+    }
+
+    // Only a unique key conflict means another thread stored the document; anything else is a real failure
+    private static boolean isDuplicate(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+            && UNIQUE_VIOLATION.equals(sqlException.getSQLState());
+    }
+
+    private MatchFeatures toRow(MatchFeatures row, String documentType, Long documentId, Features features) {
+        row.setDocumentType(documentType);
+        row.setDocumentId(documentId);
+        row.setDocumentVersion(features.version());
+        row.setFormatVersion(FORMAT_VERSION);
+        row.setSkillTerms(writeSkills(features));
+        row.setKeywordTerms(writeFrequencies(features.keywords()));
+        row.setSectionTerms(writeTerms(features.sectionTerms()));
+        row.setEmbedding(writeEmbedding(features.embedding()));
+        row.setSimHash(features.simHash());
+        return row;
+    }
+
+    private void invalidateAll() {
+        // Skill ids depend on the taxonomy: drop everything, then reload job descriptions in the background
+        synchronized (this) {
+            resumeFeatures.clear();
+            jobDescriptionFeatures.clear();
+            jobDescriptionsLoaded = false;
+            featuresRepository.deleteAllInBatch();
+        }
+        invalidationListeners.forEach(Runnable::run);
+        refreshExecutor.execute(this::loadJobDescriptions);
+    }
+
+    private Features fromRow(MatchFeatures row) {
+        SkillList skills = readSkills(row.getSkillTerms());
+        return new Features(row.getDocumentVersion(),
+            skills.skills(),
+            skills.confidences(),
+            readFrequencies(row.getKeywordTerms()),
+            readTerms(row.getSectionTerms()),
+            readEmbedding(row.getEmbedding()),
+            row.getSimHash());
+    }
+
+    private String writeTerms(TermSet terms) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            out.append(termDictionary.term(terms.get(i))).append('\n');
+        }
+        return out.toString();
+    }
+
+    // "skill" per line, or "skill<TAB>confidence" for a corrected one
+    private String writeSkills(Features features) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < features.skills().size(); i++) {
+            int skill = features.skills().get(i);
+            out.append(termDictionary.term(skill));
+            Double confidence = features.skillConfidences().get(skill);
+            if (confidence != null) {
+                out.append('\t').append(confidence);
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    // Tokens never contain tabs or newlines, so they can delimit the fields
+    private String writeFrequencies(TermFrequencies frequencies) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < frequencies.size(); i++) {
+            out.append(termDictionary.term(frequencies.id(i))).append('\t').append(frequencies.count(i)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private TermSet readTerms(String text) {
+        if (text == null || text.isEmpty()) {
+            return TermSet.EMPTY;
+        }
+        String[] lines = text.split("\n");
+        int[] ids = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            ids[i] = termDictionary.intern(lines[i]);
+        }
+        return TermSet.of(ids, ids.length);
+    }
+
+    private SkillList readSkills(String text) {
+        if (text == null || text.isEmpty()) {
+            return new SkillList(TermSet.EMPTY, Map.of());
+        }
+        String[] lines = text.split("\n");
+        int[] ids = new int[lines.length];
+        Map<Integer, Double> confidences = new HashMap<>();
+        for (int i = 0; i < lines.length; i++) {
+            int tab = lines[i].lastIndexOf('\t');
+            ids[i] = termDictionary.intern(tab == -1 ? lines[i] : lines[i].substring(0, tab));
+            if (tab != -1) {
+                confidences.put(ids[i], Double.parseDouble(lines[i].substring(tab + 1)));
+            }
+        }
+        return new SkillList(TermSet.of(ids, ids.length), confidences.isEmpty() ? Map.of() : Map.copyOf(confidences));
+    }
+
+    private TermFrequencies readFrequencies(String text) {
+        if (text == null || text.isEmpty()) {
+            return TermFrequencies.EMPTY;
+        }
+        String[] lines = text.split("\n");
+        int[] ids = new int[lines.length];
+        int[] counts = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            int tab = lines[i].lastIndexOf('\t');
+            ids[i] = termDictionary.intern(lines[i].substring(0, tab));
+            counts[i] = Integer.parseInt(lines[i].substring(tab + 1));
+        }
+        return TermFrequencies.ofCounts(ids, counts, lines.length);
+    }
+
+    private static String writeEmbedding(float[] vector) {
+        ByteBuffer bytes = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asFloatBuffer().put(vector);
+        return Base64.getEncoder().encodeToString(bytes.array());
+    }
+
+    private static float[] readEmbedding(String text) {
+        byte[] bytes = Base64.getDecoder().decode(text);
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
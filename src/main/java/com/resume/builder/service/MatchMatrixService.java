@@ -0,0 +1,390 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.MatchMatrixJobDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.MatchMatrixJob;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.repository.MatchMatrixBlockRepository;
+import com.resume.builder.repository.MatchMatrixJobRepository;
+import com.resume.builder.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background jobs that score every resume against every job description, or a filtered subset,
+ * and store the results as match_results rows.
+ *
+ * <p>The id space is cut into blocks of resume ids by job description ids, and a fork/join task
+ * splits the block grid until each task holds one block. A block's results, its checkpoint row and
+ * the job's progress are written in one transaction with JDBC batches, so a job interrupted by a
+ * crash resumes on startup without redoing or duplicating finished blocks. Jobs run one at a time.
+ *
+ * <p>A job may skip near-duplicates: of each {@link DuplicateDetectionService} cluster only the
+ * most recently updated document is scored.
+ */
+@Service
+@Slf4j
+public class MatchMatrixService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    private final MatchMatrixJobRepository jobRepository;
+    private final MatchMatrixBlockRepository blockRepository;
+    private final ResumeRepository resumeRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final MatchingService matchingService;
+    private final MatchResultService matchResultService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final ForkJoinPool pool;
+    private final ExecutorService coordinator;
+    // Stop flags of queued and running jobs
+    private final Map<String, AtomicBoolean> stopRequests = new ConcurrentHashMap<>();
+
+    public MatchMatrixService(
+            MatchMatrixJobRepository jobRepository,
+            MatchMatrixBlockRepository blockRepository,
+            ResumeRepository resumeRepository,
+            JobDescriptionRepository jobDescriptionRepository,
+            MatchingService matchingService,
+            MatchResultService matchResultService,
+            DuplicateDetectionService duplicateDetectionService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${resume.matrix.parallelism:0}") int parallelism,
+            @Value("${resume.matrix.block-size:100}") int blockSize) {
+        this.jobRepository = jobRepository;
+        this.blockRepository = blockRepository;
+        this.resumeRepository = resumeRepository;
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.matchingService = matchingService;
+        this.matchResultService = matchResultService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockSize = Math.max(1, blockSize);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("match-matrix-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequests.values().forEach(stop -> stop.set(true));
+        coordinator.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Creates a job over the given ids, or over every stored document where a list is null or empty,
+     * optionally leaving out near-duplicates among them.
+     */
+    public MatchMatrixJobDTO submit(List<Long> resumeIds, List<Long> jobDescriptionIds, boolean skipDuplicates) {
+        boolean allResumes = resumeIds == null || resumeIds.isEmpty();
+        boolean allJobDescriptions = jobDescriptionIds == null || jobDescriptionIds.isEmpty();
+
+        MatchMatrixJob job = new MatchMatrixJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(STATUS_QUEUED);
+        job.setResumeIds(allResumes ? null : joinIds(resumeIds));
+        job.setJobDescriptionIds(allJobDescriptions ? null : joinIds(jobDescriptionIds));
+        job.setSkipDuplicates(skipDuplicates);
+        job.setBlockSize(blockSize);
+        job.setMaxResumeId(allResumes ? orZero(resumeRepository.findMaxId()) : Collections.max(resumeIds));
+        job.setMaxJobDescriptionId(allJobDescriptions
+            ? orZero(jobDescriptionRepository.findMaxId()) : Collections.max(jobDescriptionIds));
+        long resumes = allResumes ? resumeRepository.count() : resumeRepository.countByIdIn(new HashSet<>(resumeIds));
+        long jds = allJobDescriptions
+            ? jobDescriptionRepository.count() : jobDescriptionRepository.countByIdIn(new HashSet<>(jobDescriptionIds));
+        if (skipDuplicates) {
+            resumes -= duplicateDetectionService.redundantResumeIds(allResumes ? null : new HashSet<>(resumeIds)).size();
+            jds -= duplicateDetectionService
+                .redundantJobDescriptionIds(allJobDescriptions ? null : new HashSet<>(jobDescriptionIds)).size();
+        }
+        job.setTotalPairs(resumes * jds);
+        job.setCompletedPairs(0L);
+        // The id is assigned, so save merges and returns the managed copy with its timestamps
+        job = jobRepository.save(job);
+
+        enqueue(job.getId());
+        log.info("Queued match matrix job {} over {} resumes and {} job descriptions", job.getId(), resumes, jds);
+        return toDTO(job);
+    }
+
+    public Optional<MatchMatrixJobDTO> getJob(String jobId) {
+        return jobRepository.findById(jobId).map(this::toDTO);
+    }
+
+    public List<MatchMatrixJobDTO> getJobs() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * Stops a queued or running job; blocks already written are kept for a later resume.
+     *
+     * @throws IllegalStateException if the job already finished
+     */
+    public Optional<MatchMatrixJobDTO> cancel(String jobId) {
+        Optional<MatchMatrixJob> job = jobRepository.findById(jobId);
+        job.ifPresent(found -> {
+            if (!STATUS_QUEUED.equals(found.getStatus()) && !STATUS_RUNNING.equals(found.getStatus())) {
+                throw new IllegalStateException("Job " + jobId + " is already " + found.getStatus());
+            }
+            int updated = jobRepository.updateStatusFrom(jobId, List.of(STATUS_QUEUED, STATUS_RUNNING),
+                STATUS_CANCELLED, null, LocalDateTime.now());
+            if (updated == 0) {
+                // Finished or failed since it was read
+                throw new IllegalStateException("Job " + jobId + " is no longer queued or running");
+            }
+            AtomicBoolean stop = stopRequests.get(jobId);
+            if (stop != null) {
+                stop.set(true);
+            }
+            log.info("Cancelled match matrix job {}", jobId);
+        });
+        return job.flatMap(found -> getJob(jobId));
+    }
+
+    /**
+     * Requeues a failed or cancelled job; it continues from its last finished block.
+     *
+     * @throws IllegalStateException if the job is not failed or cancelled
+     */
+    public Optional<MatchMatrixJobDTO> resume(String jobId) {
+        Optional<MatchMatrixJob> job = jobRepository.findById(jobId);
+        job.ifPresent(found -> {
+            if (!STATUS_FAILED.equals(found.getStatus()) && !STATUS_CANCELLED.equals(found.getStatus())) {
+                throw new IllegalStateException("Job " + jobId + " is " + found.getStatus());
+            }
+            int updated = jobRepository.updateStatusFrom(jobId, List.of(STATUS_FAILED, STATUS_CANCELLED),
+                STATUS_QUEUED, null, LocalDateTime.now());
+            if (updated == 0) {
+                // Resumed by another request since it was read; only one of them may run it
+                throw new IllegalStateException("Job " + jobId + " is no longer failed or cancelled");
+            }
+            enqueue(jobId);
+        });
+        return job.flatMap(found -> getJob(jobId));
+    }
+
+    /** Requeues the jobs that were queued or running when the application stopped. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (MatchMatrixJob job : jobRepository.findByStatusInOrderByCreatedAt(List.of(STATUS_QUEUED, STATUS_RUNNING))) {
+            log.info("Resuming match matrix job {} at {} of {} pairs", job.getId(), job.getCompletedPairs(), job.getTotalPairs());
+            jobRepository.updateStatus(job.getId(), STATUS_QUEUED, null, LocalDateTime.now());
+            enqueue(job.getId());
+        }
+    }
+
+    private void enqueue(String jobId) {
+        stopRequests.put(jobId, new AtomicBoolean());
+        coordinator.execute(() -> run(jobId));
+    }
+
+    private void run(String jobId) {
+        AtomicBoolean stop = stopRequests.get(jobId);
+        try {
+            MatchMatrixJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || !STATUS_QUEUED.equals(job.getStatus()) || stop.get()) {
+                return;
+            }
+            // A cancel may land after the read; it must win over the start
+            if (jobRepository.updateStatusFrom(jobId, List.of(STATUS_QUEUED), STATUS_RUNNING, null,
+                    LocalDateTime.now()) == 0) {
+                return;
+            }
+
+            BitSet finished = new BitSet();
+            blockRepository.findBlockIndexesByJobId(jobId).forEach(finished::set);
+            Set<Long> resumeIds = parseIds(job.getResumeIds());
+            Set<Long> jobDescriptionIds = parseIds(job.getJobDescriptionIds());
+            boolean skipDuplicates = Boolean.TRUE.equals(job.getSkipDuplicates());
+            Run run = new Run(job, resumeIds, jobDescriptionIds,
+                skipDuplicates ? duplicateDetectionService.redundantResumeIds(resumeIds) : Set.of(),
+                skipDuplicates ? duplicateDetectionService.redundantJobDescriptionIds(jobDescriptionIds) : Set.of(),
+                blockCount(job.getMaxResumeId(), job.getBlockSize()),
+                blockCount(job.getMaxJobDescriptionId(), job.getBlockSize()),
+                finished, stop);
+            long start = System.currentTimeMillis();
+            pool.invoke(new BlockTask(run, 0, run.resumeBlocks(), 0, run.jobDescriptionBlocks()));
+
+            if (!stop.get() && jobRepository.updateStatusFrom(jobId, List.of(STATUS_RUNNING), STATUS_COMPLETED, null,
+                    LocalDateTime.now()) > 0) {
+                log.info("Completed match matrix job {} in {} ms", jobId, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            log.error("Match matrix job {} failed", jobId, e);
+            jobRepository.updateStatusFrom(jobId, List.of(STATUS_QUEUED, STATUS_RUNNING), STATUS_FAILED,
+                truncate(String.valueOf(e.getMessage())), LocalDateTime.now());
+        } finally {
+            stopRequests.remove(jobId, stop);
+        }
+    }
+
+    /** Scores one block and commits its results, checkpoint and progress together. */
+    private void processBlock(Run run, int resumeBlock, int jdBlock) {
+        int blockIndex = resumeBlock * run.jobDescriptionBlocks() + jdBlock;
+        if (run.finished().get(blockIndex) || run.stop().get()) {
+            return;
+        }
+
+        long size = run.job().getBlockSize();
+        List<Resume> resumes = filter(
+            resumeRepository.findByIdBetweenOrderById(resumeBlock * size + 1, (resumeBlock + 1) * size),
+            run.resumeIds(), run.skippedResumeIds(), Resume::getId);
+        List<JobDescription> jds = filter(
+            jobDescriptionRepository.findByIdBetweenOrderById(jdBlock * size + 1, (jdBlock + 1) * size),
+            run.jobDescriptionIds(), run.skippedJobDescriptionIds(), JobDescription::getId);
+        if (resumes.isEmpty() || jds.isEmpty()) {
+            return;
+        }
+
+        List<MatchResultService.ComputedMatch> matches = new ArrayList<>(resumes.size() * jds.size());
+        for (Resume resume : resumes) {
+            if (run.stop().get()) {
+                return;
+            }
+            for (JobDescription jd : jds) {
+                matches.add(new MatchResultService.ComputedMatch(resume, jd, matchingService.calculateMatch(resume, jd)));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            matchResultService.insertAll(matches);
+            jdbcTemplate.update("insert into match_matrix_blocks (job_id, block_index, pairs) values (?, ?, ?)",
+                run.job().getId(), blockIndex, matches.size());
+            jdbcTemplate.update("update match_matrix_jobs set completed_pairs = completed_pairs + ?, updated_at = ? where id = ?",
+                matches.size(), LocalDateTime.now(), run.job().getId());
+        });
+    }
+
+    private record Run(MatchMatrixJob job, Set<Long> resumeIds, Set<Long> jobDescriptionIds,
+                       Set<Long> skippedResumeIds, Set<Long> skippedJobDescriptionIds,
+                       int resumeBlocks, int jobDescriptionBlocks, BitSet finished, AtomicBoolean stop) {
+    }
+
+    /** Splits a rectangle of the block grid along its longer side until one block is left. */
+    private class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Run run;
+        private final int resumeFrom;
+        private final int resumeTo;
+        private final int jdFrom;
+        private final int jdTo;
+
+        BlockTask(Run run, int resumeFrom, int resumeTo, int jdFrom, int jdTo) {
+            this.run = run;
+            this.resumeFrom = resumeFrom;
+            this.resumeTo = resumeTo;
+            this.jdFrom = jdFrom;
+            this.jdTo = jdTo;
+        }
+
+        @Override
+        protected void compute() {
+            int resumeSpan = resumeTo - resumeFrom;
+            int jdSpan = jdTo - jdFrom;
+            if (resumeSpan <= 0 || jdSpan <= 0 || run.stop().get()) {
+                return;
+            }
+            if (resumeSpan == 1 && jdSpan == 1) {
+                try {
+                    processBlock(run, resumeFrom, jdFrom);
+                } catch (RuntimeException e) {
+                    // Stop the other blocks; the job is marked failed once they return
+                    run.stop().set(true);
+                    throw e;
+                }
+            } else if (resumeSpan >= jdSpan) {
+                int middle = resumeFrom + resumeSpan / 2;
+                invokeAll(new BlockTask(run, resumeFrom, middle, jdFrom, jdTo),
+                    new BlockTask(run, middle, resumeTo, jdFrom, jdTo));
+            } else {
+                int middle = jdFrom + jdSpan / 2;
+                invokeAll(new BlockTask(run, resumeFrom, resumeTo, jdFrom, middle),
+                    new BlockTask(run, resumeFrom, resumeTo, middle, jdTo));
+            }
+        }
+    }
+
+    private MatchMatrixJobDTO toDTO(MatchMatrixJob job) {
+        int progress = job.getTotalPairs() == 0 ? 100
+            : (int) Math.min(100, job.getCompletedPairs() * 100 / job.getTotalPairs());
+        return new MatchMatrixJobDTO(job.getId(), job.getStatus(), Boolean.TRUE.equals(job.getSkipDuplicates()),
+            job.getTotalPairs(), job.getCompletedPairs(), progress, job.getError(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+
+    private static <T> List<T> filter(List<T> documents, Set<Long> ids, Set<Long> skipped, Function<T, Long> id) {
+        if (ids == null && skipped.isEmpty()) {
+            return documents;
+        }
+        return documents.stream()
+            .filter(document -> (ids == null || ids.contains(id.apply(document))) && !skipped.contains(id.apply(document)))
+            .toList();
+    }
+
+    private static int blockCount(long maxId, int blockSize) {
+        return (int) ((maxId + blockSize - 1) / blockSize);
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().distinct().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        return ids == null ? null : Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= 1000 ? value : value.substring(0, 1000);
+    }
+}
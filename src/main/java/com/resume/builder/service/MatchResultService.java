@@ -0,0 +1,207 @@
+package com.resume.builder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resume.builder.dto.CacheStatsDTO;
+import com.resume.builder.dto.MatchHistoryEntryDTO;
+import com.resume.builder.dto.MatchScoreDTO;
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.MatchResult;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.MatchResultRepository;
+import com.resume.builder.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Match results cached in two tiers: an in-memory LRU, then match_results rows. Both are keyed by
+ * the resume and job description ids and versions, so a change to either side makes the old result
+ * unreachable and the next request recomputes it. Older rows stay as match history.
+ */
+@Service
+@Slf4j
+public class MatchResultService {
+
+    private static final String INSERT_SQL = "insert into match_results (resume_id, job_description_id,"
+        + " resume_version, job_description_version, overall_score, skills_match_score, experience_match_score,"
+        + " missing_keywords, suggestions, result_json, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final MatchingService matchingService;
+    private final MatchResultRepository matchResultRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final LruCache<String, MatchScoreDTO> results;
+    // Rows computed before the last taxonomy reload used other skill names and are not reused
+    private volatile LocalDateTime validAfter = LocalDateTime.MIN;
+
+    public MatchResultService(
+            MatchingService matchingService,
+            MatchResultRepository matchResultRepository,
+            MatchFeaturesService matchFeaturesService,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            @Value("${resume.match.cache-size:2000}") int cacheSize) {
+        this.matchingService = matchingService;
+        this.matchResultRepository = matchResultRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.results = new LruCache<>(cacheSize);
+        matchFeaturesService.addInvalidationListener(this::invalidateAll);
+    }
+
+    /** The match of the resume against the job description, computed only if neither tier has it. */
+    public MatchScoreDTO getOrCalculate(Resume resume, JobDescription jd) {
+        long resumeVersion = MatchText.version(resume.getUpdatedAt());
+        long jdVersion = MatchText.version(jd.getUpdatedAt());
+        String key = resume.getId() + ":" + resumeVersion + ":" + jd.getId() + ":" + jdVersion;
+
+        MatchScoreDTO cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<MatchScoreDTO> stored = matchResultRepository
+            .findByVersions(resume.getId(), resumeVersion, jd.getId(), jdVersion)
+            .stream()
+            .filter(row -> !row.getCreatedAt().isBefore(validAfter))
+            .findFirst()
+            .flatMap(this::readResult)
+            // Results stored by older versions lack the newer fields and may be scored differently
+            .filter(result -> result.getSemanticScore() != null && result.getKeywordConfidence() != null
+                && result.getKeywordFrequencies() != null);
+        if (stored.isPresent()) {
+            results.put(key, stored.get());
+            return stored.get();
+        }
+
+        MatchScoreDTO matchScore = matchingService.calculateMatch(resume, jd);
+        results.put(key, matchScore);
+        store(resume, resumeVersion, jd, jdVersion, matchScore);
+        return matchScore;
+    }
+
+    /** A computed match of two documents, for {@link #insertAll}. */
+    public record ComputedMatch(Resume resume, JobDescription jd, MatchScoreDTO matchScore) {
+    }
+
+    /**
+     * Inserts match results in one JDBC batch, joining the caller's transaction. The in-memory
+     * tier is left alone, since batch jobs produce far more results than it holds.
+     */
+    public void insertAll(List<ComputedMatch> matches) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(matches.size());
+        for (ComputedMatch match : matches) {
+            MatchScoreDTO matchScore = match.matchScore();
+            rows.add(new Object[] {
+                match.resume().getId(),
+                match.jd().getId(),
+                MatchText.version(match.resume().getUpdatedAt()),
+                MatchText.version(match.jd().getUpdatedAt()),
+                matchScore.getOverallScore(),
+                matchScore.getSkillsMatchScore(),
+                matchScore.getExperienceMatchScore(),
+                truncate(String.join(", ", matchScore.getMissingKeywords()), 2000),
+                truncate(String.join("\n", matchScore.getSuggestions()), 3000),
+                writeResult(matchScore),
+                now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /** Every stored match of the resume, newest first, as computed at the time. */
+    public List<MatchHistoryEntryDTO> getHistory(Resume resume) {
+        long resumeVersion = MatchText.version(resume.getUpdatedAt());
+        List<MatchHistoryEntryDTO> history = new ArrayList<>();
+        for (MatchResult row : matchResultRepository.findByResumeIdOrderByCreatedAtDesc(resume.getId())) {
+            JobDescription jd = row.getJobDescription();
+            boolean current = row.getResumeVersion() != null
+                && row.getResumeVersion() == resumeVersion
+                && row.getJobDescriptionVersion() != null
+                && row.getJobDescriptionVersion() == MatchText.version(jd.getUpdatedAt())
+                && !row.getCreatedAt().isBefore(validAfter);
+            history.add(new MatchHistoryEntryDTO(row.getId(), jd.getId(), jd.getJobTitle(), jd.getCompanyName(),
+                current, row.getCreatedAt(), readResult(row).orElseGet(() -> summary(row))));
+        }
+        return history;
+    }
+
+    /** Drops the stored matches of a resume; call before deleting it. */
+    public void deleteForResume(Long resumeId) {
+        matchResultRepository.deleteByResume(resumeId);
+    }
+
+    /** Drops the stored matches of a job description; call before deleting it. */
+    public void deleteForJobDescription(Long jobDescriptionId) {
+        matchResultRepository.deleteByJobDescription(jobDescriptionId);
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        long hits = results.getHits();
+        long misses = results.getMisses();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new CacheStatsDTO(results.size(), results.getMaxEntries(), hits, misses, hitRate);
+    }
+
+    private void store(Resume resume, long resumeVersion, JobDescription jd, long jdVersion, MatchScoreDTO matchScore) {
+        MatchResult row = new MatchResult();
+        row.setResume(resume);
+        row.setJobDescription(jd);
+        row.setResumeVersion(resumeVersion);
+        row.setJobDescriptionVersion(jdVersion);
+        row.setOverallScore(matchScore.getOverallScore());
+        row.setSkillsMatchScore(matchScore.getSkillsMatchScore());
+        row.setExperienceMatchScore(matchScore.getExperienceMatchScore());
+        row.setMissingKeywords(truncate(String.join(", ", matchScore.getMissingKeywords()), 2000));
+        row.setSuggestions(truncate(String.join("\n", matchScore.getSuggestions()), 3000));
+        row.setResultJson(writeResult(matchScore));
+        matchResultRepository.save(row);
+    }
+
+    private String writeResult(MatchScoreDTO matchScore) {
+        try {
+            return objectMapper.writeValueAsString(matchScore);
+        } catch (JsonProcessingException e) {
+            // Plain DTO of strings and numbers; cannot happen in practice
+            throw new IllegalStateException("Could not serialize match result", e);
+        }
+    }
+
+    private Optional<MatchScoreDTO> readResult(MatchResult row) {
+        if (row.getResultJson() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(row.getResultJson(), MatchScoreDTO.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable match result {}", row.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    // Rows written before results were stored as JSON only carry the scores
+    private static MatchScoreDTO summary(MatchResult row) {
+        MatchScoreDTO matchScore = new MatchScoreDTO();
+        matchScore.setOverallScore(row.getOverallScore());
+        matchScore.setSkillsMatchScore(row.getSkillsMatchScore());
+        matchScore.setExperienceMatchScore(row.getExperienceMatchScore());
+        return matchScore;
+    }
+
+    private void invalidateAll() {
+        validAfter = LocalDateTime.now();
+        results.clear();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
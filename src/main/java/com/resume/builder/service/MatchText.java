@@ -0,0 +1,39 @@
+package com.resume.builder.service;
+
+import com.resume.builder.model.JobDescription;
+import com.resume.builder.model.Resume;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * The text and version of a resume or job description that keyword matching, match features and
+ * corpus statistics work on.
+ */
+final class MatchText {
+
+    private MatchText() {
+    }
+
+    static String of(Resume resume) {
+        return String.join(" ", 
+            Optional.ofNullable(resume.getSummary()).orElse(""),
+            Optional.ofNullable(resume.getExperience()).orElse(""),
+            Optional.ofNullable(resume.getEducation()).orElse(""),
+            Optional.ofNullable(resume.getSkills()).orElse(""),
+            Optional.ofNullable(resume.getProjects()).orElse(""),
+            Optional.ofNullable(resume.getCertifications()).orElse("")
+        );
+    }
+
+    static String of(JobDescription jd) {
+        return Optional.ofNullable(jd.getDescription()).orElse("");
+    }
+
+    /** Version of a document derived from its update time, in epoch millis; -1 when never saved. */
+    static long version(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.truncatedTo(ChronoUnit.MILLIS).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
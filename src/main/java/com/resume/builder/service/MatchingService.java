@@ -3,8 +3,11 @@ package com.resume.builder.service;
 import com.resume.builder.dto.MatchScoreDTO;
 import com.resume.builder.model.JobDescription;
 import com.resume.builder.model.Resume;
-import lombok.RequiredArgsConstructor;
+import com.resume.builder.util.HashedEmbedding;
+import com.resume.builder.util.TermFrequencies;
+import com.resume.builder.util.TermSet;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -12,50 +15,91 @@ import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class MatchingService {
 
-    private final JDAnalyzerService jdAnalyzerService;
+    // BM25 term-frequency saturation and document-length normalization
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    // Weights of the skills, keyword and experience matches in the lexical part of the overall score
+    private static final double SKILLS_WEIGHT = 0.4;
+    private static final double KEYWORD_WEIGHT = 0.3;
+    private static final double EXPERIENCE_WEIGHT = 0.3;
+
+    private final TermDictionary termDictionary;
+    private final CorpusStatistics corpusStatistics;
+    private final MatchFeaturesService matchFeaturesService;
+    // Share of the overall score given to semantic similarity; the lexical matches share the rest
+    private final double semanticWeight;
+
+    public MatchingService(
+            TermDictionary termDictionary,
+            CorpusStatistics corpusStatistics,
+            MatchFeaturesService matchFeaturesService,
+            @Value("${resume.semantic.weight:0.2}") double semanticWeight) {
+        if (semanticWeight < 0.0 || semanticWeight > 1.0) {
+            throw new IllegalArgumentException("resume.semantic.weight must be between 0 and 1: " + semanticWeight);
+        }
+        this.termDictionary = termDictionary;
+        this.corpusStatistics = corpusStatistics;
+        this.matchFeaturesService = matchFeaturesService;
+        this.semanticWeight = semanticWeight;
+    }
 
     public MatchScoreDTO calculateMatch(Resume resume, JobDescription jd) {
         MatchScoreDTO matchScore = new MatchScoreDTO();
         
-        // Extract keywords from JD
-        Set<String> jdKeywords = jdAnalyzerService.extractAllKeywords(jd.getDescription());
-        Set<String> jdSkills = extractSkillsSet(jd.getRequiredSkills());
-        
-        // Extract keywords from Resume
-        String resumeText = buildResumeText(resume);
-        Set<String> resumeKeywords = jdAnalyzerService.extractAllKeywords(resumeText);
-        Set<String> resumeSkills = extractSkillsSet(resume.getSkills());
+        // Precomputed keywords and skills of both documents
+        MatchFeaturesService.Features jdFeatures = matchFeaturesService.forJobDescription(jd);
+        MatchFeaturesService.Features resumeFeatures = matchFeaturesService.forResume(resume);
+        TermSet jdKeywords = jdFeatures.keywords().terms();
+        TermSet jdSkills = jdFeatures.skills();
+        TermFrequencies resumeKeywords = resumeFeatures.keywords();
+        TermSet resumeSkills = resumeFeatures.skills();
         
         // Calculate skills match
-        double skillsMatch = calculateSetSimilarity(jdSkills, resumeSkills);
+        double skillsMatch = jdSkills.jaccard(resumeSkills);
         matchScore.setSkillsMatchScore(skillsMatch * 100);
         
-        // Calculate overall keyword match
-        double keywordMatch = calculateSetSimilarity(jdKeywords, resumeKeywords);
+        // Calculate overall keyword match, weighting rare terms above common ones
+        int[] keywordCounts = keywordCounts(jdKeywords, resumeKeywords);
+        double keywordMatch = keywordMatch(jdKeywords, keywordCounts, resumeKeywords.totalCount());
         
         // Calculate experience match (based on keyword overlap in experience section)
-        double experienceMatch = calculateExperienceMatch(resume.getExperience(), jd.getResponsibilities());
+        double experienceMatch = jdFeatures.sectionTerms().jaccard(resumeFeatures.sectionTerms());
         matchScore.setExperienceMatchScore(experienceMatch * 100);
         
+        // Calculate semantic similarity of the hashed embeddings
+        double semanticMatch = semanticMatch(resumeFeatures.embedding(), jdFeatures.embedding());
+        matchScore.setSemanticScore(semanticMatch * 100);
+        
         // Calculate overall score (weighted average)
-        double overallScore = (skillsMatch * 0.4) + (keywordMatch * 0.3) + (experienceMatch * 0.3);
+        double overallScore = combine(skillsMatch, keywordMatch, experienceMatch, semanticMatch);
         matchScore.setOverallScore(overallScore * 100);
         
-        // Calculate ATS score (how well formatted and keyword-rich)
-        double atsScore = calculateATSScore(resume, jdKeywords);
+        // Calculate ATS score (how well formatted and keyword-rich) and how often each JD keyword appears
+        Map<String, Integer> keywordFrequencies = keywordFrequencies(jdKeywords, keywordCounts);
+        double atsScore = atsScore(resume, keywordFrequencies.size(), jdKeywords.size());
         matchScore.setAtsScore(atsScore);
+        matchScore.setKeywordFrequencies(keywordFrequencies);
         
-        // Find matched and missing keywords
-        Set<String> matched = new HashSet<>(jdSkills);
-        matched.retainAll(resumeSkills);
-        matchScore.setMatchedKeywords(new ArrayList<>(matched));
-        
-        Set<String> missing = new HashSet<>(jdSkills);
-        missing.removeAll(resumeSkills);
-        matchScore.setMissingKeywords(new ArrayList<>(missing));
+        // Find matched and missing keywords, with how sure each match is when either side was misspelled
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        Map<String, Double> confidence = new LinkedHashMap<>();
+        for (int i = 0; i < jdSkills.size(); i++) {
+            int skill = jdSkills.get(i);
+            String term = termDictionary.term(skill);
+            if (resumeSkills.contains(skill)) {
+                matched.add(term);
+                confidence.put(term, resumeFeatures.skillConfidence(skill) * jdFeatures.skillConfidence(skill));
+            } else {
+                missing.add(term);
+            }
+        }
+        matchScore.setMatchedKeywords(matched);
+        matchScore.setKeywordConfidence(confidence);
+        matchScore.setMissingKeywords(missing);
         
         // Generate suggestions
         List<String> suggestions = generateSuggestions(matchScore, missing);
@@ -68,55 +112,136 @@ public class MatchingService {
         return matchScore;
     }
 
-    private String buildResumeText(Resume resume) {
-        return String.join(" ", 
-            Optional.ofNullable(resume.getSummary()).orElse(""),
-            Optional.ofNullable(resume.getExperience()).orElse(""),
-            Optional.ofNullable(resume.getEducation()).orElse(""),
-            Optional.ofNullable(resume.getSkills()).orElse(""),
-            Optional.ofNullable(resume.getProjects()).orElse(""),
-            Optional.ofNullable(resume.getCertifications()).orElse("")
-        );
+    /**
+     * Overall score in [0, 1] of a resume against a job description, computed from their features
+     * exactly as {@link #calculateMatch} does but without building the result.
+     */
+    public double overallScore(MatchFeaturesService.Features resumeFeatures, MatchFeaturesService.Features jdFeatures) {
+        double skillsMatch = jdFeatures.skills().jaccard(resumeFeatures.skills());
+        TermSet jdKeywords = jdFeatures.keywords().terms();
+        TermFrequencies resumeKeywords = resumeFeatures.keywords();
+        int[] keywordCounts = keywordCounts(jdKeywords, resumeKeywords);
+        double keywordMatch = keywordMatch(jdKeywords, keywordCounts, resumeKeywords.totalCount());
+        double experienceMatch = jdFeatures.sectionTerms().jaccard(resumeFeatures.sectionTerms());
+        double semanticMatch = semanticMatch(resumeFeatures.embedding(), jdFeatures.embedding());
+        return combine(skillsMatch, keywordMatch, experienceMatch, semanticMatch);
+    }
+
+    /** Weighted overall score in [0, 1] from the skills, keyword, experience and semantic matches. */
+    public double combine(double skillsMatch, double keywordMatch, double experienceMatch, double semanticMatch) {
+        double lexical = (skillsMatch * SKILLS_WEIGHT) + (keywordMatch * KEYWORD_WEIGHT) + (experienceMatch * EXPERIENCE_WEIGHT);
+        return (1 - semanticWeight) * lexical + semanticWeight * semanticMatch;
+    }
+
+    /** Cosine similarity of two embeddings, clamped to [0, 1]. */
+    public double semanticMatch(float[] resumeEmbedding, float[] jdEmbedding) {
+        return Math.max(0.0, HashedEmbedding.dot(resumeEmbedding, jdEmbedding));
     }
 
-    private Set<String> extractSkillsSet(String skillsText) {
-        if (skillsText == null || skillsText.isEmpty()) {
-            return new HashSet<>();
+    /** Share of {@link #overallScore} given to semantic similarity; the most it can add. */
+    public double semanticWeight() {
+        return semanticWeight;
+    }
+
+    /**
+     * Most that one required skill of the job description can add to {@link #overallScore}: skill
+     * Jaccard similarity never exceeds the shared skills over the job description's skills.
+     */
+    public double skillTermBound(MatchFeaturesService.Features jdFeatures) {
+        return jdFeatures.skills().isEmpty() ? 0.0 : (1 - semanticWeight) * SKILLS_WEIGHT / jdFeatures.skills().size();
+    }
+
+    /** Most that one responsibility keyword can add to {@link #overallScore}, bounded like skills. */
+    public double sectionTermBound(MatchFeaturesService.Features jdFeatures) {
+        return jdFeatures.sectionTerms().isEmpty() ? 0.0
+            : (1 - semanticWeight) * EXPERIENCE_WEIGHT / jdFeatures.sectionTerms().size();
+    }
+
+    /**
+     * Most that each keyword of the job description can add to {@link #overallScore}, in the order
+     * of {@code jdFeatures.keywords()}: its idf share, since saturation is capped at 1.
+     */
+    public double[] keywordTermBounds(MatchFeaturesService.Features jdFeatures) {
+        TermFrequencies keywords = jdFeatures.keywords();
+        double[] bounds = new double[keywords.size()];
+        double possible = 0.0;
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = corpusStatistics.idf(keywords.id(i));
+            possible += bounds[i];
         }
-        
-        return Arrays.stream(skillsText.split("[,;\\n]"))
-            .map(String::trim)
-            .map(String::toLowerCase)
-            .filter(s -> !s.isEmpty())
-            .collect(Collectors.toSet());
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = possible == 0.0 ? 0.0 : (1 - semanticWeight) * KEYWORD_WEIGHT * bounds[i] / possible;
+        }
+        return bounds;
     }
 
-    private double calculateSetSimilarity(Set<String> set1, Set<String> set2) {
-        if (set1.isEmpty() || set2.isEmpty()) {
-            return 0.0;
+    /** Occurrences in the resume of each JD keyword, in the order of {@code jdKeywords}, by one merge of the sorted ids. */
+    private static int[] keywordCounts(TermSet jdKeywords, TermFrequencies resumeKeywords) {
+        int[] counts = new int[jdKeywords.size()];
+        int j = 0;
+        for (int i = 0; i < counts.length && j < resumeKeywords.size(); i++) {
+            int term = jdKeywords.get(i);
+            while (j < resumeKeywords.size() && resumeKeywords.id(j) < term) j++;
+            if (j < resumeKeywords.size() && resumeKeywords.id(j) == term) {
+                counts[i] = resumeKeywords.count(j);
+            }
         }
-        
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-        
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
-        
-        return (double) intersection.size() / union.size();
+        return counts;
+    }
+
+    // JD keywords found in the resume with their occurrences, most frequent first
+    private Map<String, Integer> keywordFrequencies(TermSet jdKeywords, int[] counts) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                found.add(i);
+            }
+        }
+        found.sort((a, b) -> counts[a] != counts[b] ? Integer.compare(counts[b], counts[a]) : Integer.compare(a, b));
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (int i : found) {
+            frequencies.put(termDictionary.term(jdKeywords.get(i)), counts[i]);
+        }
+        return frequencies;
     }
 
-    private double calculateExperienceMatch(String resumeExperience, String jdResponsibilities) {
-        if (resumeExperience == null || jdResponsibilities == null) {
+    /**
+     * BM25-style coverage of the JD keywords by the resume, from the resume's occurrences of each JD
+     * keyword, given in the order of {@code jdKeywords}, and the resume's length in tokens: each JD
+     * keyword contributes its idf, scaled by the saturated, length-normalized frequency of the
+     * keyword in the resume (capped at 1), and the total is divided by the sum of the JD keywords' idf.
+     */
+    public double keywordMatch(TermSet jdKeywords, int[] resumeCounts, int resumeLength) {
+        if (jdKeywords.isEmpty() || resumeLength == 0) {
             return 0.0;
         }
-        
-        Set<String> expKeywords = jdAnalyzerService.extractAllKeywords(resumeExperience);
-        Set<String> respKeywords = jdAnalyzerService.extractAllKeywords(jdResponsibilities);
-        
-        return calculateSetSimilarity(respKeywords, expKeywords);
+
+        double lengthNorm = lengthNorm(resumeLength);
+        double matched = 0.0;
+        double possible = 0.0;
+        for (int i = 0; i < jdKeywords.size(); i++) {
+            double idf = corpusStatistics.idf(jdKeywords.get(i));
+            possible += idf;
+            if (resumeCounts[i] > 0) {
+                matched += idf * saturation(resumeCounts[i], lengthNorm);
+            }
+        }
+        return possible == 0.0 ? 0.0 : matched / possible;
     }
 
-    private double calculateATSScore(Resume resume, Set<String> jdKeywords) {
+    private double lengthNorm(int resumeLength) {
+        double averageLength = corpusStatistics.averageDocumentLength();
+        double lengthRatio = averageLength > 0 ? resumeLength / averageLength : 1.0;
+        return 1 - BM25_B + BM25_B * lengthRatio;
+    }
+
+    private static double saturation(int tf, double lengthNorm) {
+        return Math.min(1.0, tf * (BM25_K1 + 1) / (tf + BM25_K1 * lengthNorm));
+    }
+
+    /** ATS score out of 100 from the resume's filled-in fields and how many JD keywords it contains. */
+    public double atsScore(Resume resume, int matchedKeywords, int jdKeywordCount) {
         double score = 50.0; // Base score
         
         // Check for essential fields
@@ -130,18 +255,13 @@ public class MatchingService {
         if (resume.getSkills() != null && !resume.getSkills().isEmpty()) score += 10;
         
         // Keyword density
-        String resumeText = buildResumeText(resume).toLowerCase();
-        long matchedKeywords = jdKeywords.stream()
-            .filter(resumeText::contains)
-            .count();
-        
-        double keywordDensity = jdKeywords.isEmpty() ? 0 : (double) matchedKeywords / jdKeywords.size();
+        double keywordDensity = jdKeywordCount == 0 ? 0 : (double) matchedKeywords / jdKeywordCount;
         score += keywordDensity * 5;
         
         return Math.min(score, 100.0);
     }
 
-    private List<String> generateSuggestions(MatchScoreDTO matchScore, Set<String> missingKeywords) {
+    private List<String> generateSuggestions(MatchScoreDTO matchScore, List<String> missingKeywords) {
         List<String> suggestions = new ArrayList<>();
         
         if (matchScore.getOverallScore() < 50) {
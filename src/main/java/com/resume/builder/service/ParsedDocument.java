@@ -0,0 +1,205 @@
+package com.resume.builder.service;
+
+/**
+ * Line-indexed view of a document, built once per upload and shared by all resume extractors.
+ * Holds line offsets, trimmed line bounds, a lower-case shadow of the text with identical offsets,
+ * and a per-line classification.
+ */
+public final class ParsedDocument {
+
+    public enum LineKind { BLANK, BULLET, HEADING, TEXT }
+
+    private final String text;
+    private final char[] lowerText;
+    private final int lineCount;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final int[] trimStarts;
+    private final int[] trimEnds;
+    private final LineKind[] kinds;
+    private final String[] headings;
+    private final String[] trimmedLines;
+
+    private ParsedDocument(String text) {
+        this.text = text;
+
+        int length = text.length();
+        int lines = 1;
+        lowerText = new char[length];
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') lines++;
+            lowerText[i] = Character.toLowerCase(c);
+        }
+
+        lineCount = lines;
+        lineStarts = new int[lines];
+        lineEnds = new int[lines];
+        trimStarts = new int[lines];
+        trimEnds = new int[lines];
+        kinds = new LineKind[lines];
+        headings = new String[lines];
+        trimmedLines = new String[lines];
+
+        int start = 0;
+        for (int line = 0; line < lines; line++) {
+            int end = text.indexOf('\n', start);
+            if (end == -1) end = length;
+
+            int trimStart = start;
+            int trimEnd = end;
+            while (trimStart < trimEnd && text.charAt(trimStart) <= ' ') trimStart++;
+            while (trimEnd > trimStart && text.charAt(trimEnd - 1) <= ' ') trimEnd--;
+
+            lineStarts[line] = start;
+            lineEnds[line] = end;
+            trimStarts[line] = trimStart;
+            trimEnds[line] = trimEnd;
+            headings[line] = ResumeSectionSegmenter.headerAlias(lowerText, trimStart, trimEnd);
+            kinds[line] = classify(line);
+
+            start = end + 1;
+        }
+    }
+
+    public static ParsedDocument parse(String text) {
+        return new ParsedDocument(text == null ? "" : text);
+    }
+
+    private LineKind classify(int line) {
+        if (trimStarts[line] == trimEnds[line]) {
+            return LineKind.BLANK;
+        }
+        if (headings[line] != null) {
+            return LineKind.HEADING;
+        }
+        char first = text.charAt(trimStarts[line]);
+        return first == '•' || first == '-' || first == '*' ? LineKind.BULLET : LineKind.TEXT;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int lineStart(int line) {
+        return lineStarts[line];
+    }
+
+    public int lineEnd(int line) {
+        return lineEnds[line];
+    }
+
+    public int trimStart(int line) {
+        return trimStarts[line];
+    }
+
+    public int trimEnd(int line) {
+        return trimEnds[line];
+    }
+
+    public int trimmedLength(int line) {
+        return trimEnds[line] - trimStarts[line];
+    }
+
+    public LineKind kind(int line) {
+        return kinds[line];
+    }
+
+    public boolean isBlank(int line) {
+        return kinds[line] == LineKind.BLANK;
+    }
+
+    /** Section alias when the line is a section header, otherwise null. */
+    public String heading(int line) {
+        return headings[line];
+    }
+
+    /** Trimmed line content, materialised on first use. */
+    public String line(int line) {
+        String trimmed = trimmedLines[line];
+        if (trimmed == null) {
+            trimmed = text.substring(trimStarts[line], trimEnds[line]);
+            trimmedLines[line] = trimmed;
+        }
+        return trimmed;
+    }
+
+    public char charAt(int offset) {
+        return text.charAt(offset);
+    }
+
+    public char lowerCharAt(int offset) {
+        return lowerText[offset];
+    }
+
+    /** Whether the trimmed line starts with the given text. */
+    public boolean lineStartsWith(int line, String prefix) {
+        return text.startsWith(prefix, trimStarts[line]);
+    }
+
+    /** Whether the trimmed line contains the given text, compared case-sensitively. */
+    public boolean lineContains(int line, String needle) {
+        return indexOf(text, trimStarts[line], trimEnds[line], needle) != -1;
+    }
+
+    /** Whether the trimmed line contains the given lower-case text, compared case-insensitively. */
+    public boolean lineContainsIgnoreCase(int line, String lowerNeedle) {
+        return indexOf(lowerText, trimStarts[line], trimEnds[line], lowerNeedle) != -1;
+    }
+
+    /** Offset of {@code c} within the trimmed line, or -1. */
+    public int indexOfInLine(int line, char c, int fromOffset) {
+        for (int i = Math.max(fromOffset, trimStarts[line]); i < trimEnds[line]; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Trimmed text of lines [fromLine, toLine). */
+    public String text(int fromLine, int toLine) {
+        int start = -1;
+        int end = -1;
+        for (int line = fromLine; line < toLine; line++) {
+            if (!isBlank(line)) {
+                if (start == -1) start = trimStarts[line];
+                end = trimEnds[line];
+            }
+        }
+        return start == -1 ? "" : text.substring(start, end);
+    }
+
+    /** Trimmed text between two offsets. */
+    public String slice(int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        return text.substring(start, end);
+    }
+
+    private static int indexOf(String haystack, int from, int to, String needle) {
+        int last = to - needle.length();
+        for (int i = from; i <= last; i++) {
+            if (haystack.startsWith(needle, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(char[] haystack, int from, int to, String needle) {
+        int last = to - needle.length();
+        for (int i = from; i <= last; i++) {
+            int j = 0;
+            while (j < needle.length() && haystack[i + j] == needle.charAt(j)) j++;
+            if (j == needle.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,121 @@
+package com.resume.builder.service;
+
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Fingerprints uploads by the SHA-256 of their bytes so repeat uploads can reuse an existing parse.
+ * A bounded LRU of hash to resume id sits in front of the content_hash lookup.
+ */
+@Service
+@Slf4j
+public class ResumeFingerprintService {
+
+    private final ResumeRepository resumeRepository;
+    private final LruCache<String, Long> resumeIdsByHash;
+
+    public ResumeFingerprintService(
+            ResumeRepository resumeRepository,
+            @Value("${resume.dedup.cache-size:10000}") int cacheSize) {
+        this.resumeRepository = resumeRepository;
+        this.resumeIdsByHash = new LruCache<>(cacheSize);
+    }
+
+    public String fingerprint(MultipartFile file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest);
+    }
+
+    /** Copies the stream to {@code target} and returns the SHA-256 of the bytes written. */
+    public String spoolAndFingerprint(InputStream in, Path target) throws IOException {
+        return spoolAndFingerprint(in, target, Long.MAX_VALUE);
+    }
+
+    /**
+     * Copies the stream to {@code target} and returns the SHA-256 of the bytes written, failing with
+     * {@link SizeLimitExceededException} once more than {@code maxBytes} have been read.
+     */
+    public String spoolAndFingerprint(InputStream in, Path target, long maxBytes) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                written += read;
+                if (written > maxBytes) {
+                    throw new SizeLimitExceededException("File exceeds the " + maxBytes + " byte limit");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return toHex(digest);
+    }
+
+    public Optional<Resume> findExisting(String contentHash) {
+        Long cachedId = resumeIdsByHash.get(contentHash);
+        if (cachedId != null) {
+            Optional<Resume> cached = resumeRepository.findById(cachedId)
+                .filter(resume -> contentHash.equals(resume.getContentHash()));
+            if (cached.isPresent()) {
+                return cached;
+            }
+            // Resume was deleted or edited since it was cached
+            resumeIdsByHash.remove(contentHash);
+        }
+
+        Optional<Resume> stored = resumeRepository.findFirstByContentHash(contentHash);
+        stored.ifPresent(this::remember);
+        return stored;
+    }
+
+    public void remember(Resume resume) {
+        if (resume.getContentHash() != null && resume.getId() != null) {
+            resumeIdsByHash.put(resume.getContentHash(), resume.getId());
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /** The spooled stream is longer than the caller allows. */
+    public static class SizeLimitExceededException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        SizeLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
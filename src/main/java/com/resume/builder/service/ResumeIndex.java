@@ -0,0 +1,442 @@
+package com.resume.builder.service;
+
+import com.resume.builder.util.HnswIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from canonical skills, keywords and experience keywords to the resumes
+ * that contain them, plus an HNSW graph over the resumes' semantic vectors, kept in step with saved
+ * and deleted resumes.
+ *
+ * <p>Top-K retrieval for a job description uses MaxScore: every query term has an upper bound on
+ * what it can add to {@link MatchingService#overallScore}, and once the K-th best score exceeds the
+ * combined bound of the weakest terms, their posting lists are only probed for resumes found
+ * through the stronger ones. The heap is first seeded with the semantically nearest resumes from
+ * the graph, which gives an early threshold, reaches resumes sharing no term with the job
+ * description, and bounds the semantic part of every other resume; the ranking is exact as far as
+ * the approximate graph search finds the true nearest resumes. The graph is built in the
+ * background after a rebuild and finds nothing until it is ready.
+ */
+@Component
+@Slf4j
+public class ResumeIndex {
+
+    // Posting lists are keyed by field and term id, so a keyword never matches a skill
+    private static final long SKILL = 0;
+    private static final long KEYWORD = 1;
+    private static final long SECTION = 2;
+
+    // Slack for rounding when comparing summed bounds with exact scores
+    private static final double EPSILON = 1e-9;
+
+    // Best score first; ties go to the older resume
+    private static final Comparator<Hit> RANKING =
+        Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::resumeId);
+
+    private final MatchFeaturesService matchFeaturesService;
+    private final MatchingService matchingService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, MatchFeaturesService.Features> resumes = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final ExecutorService semanticBuilder;
+    private HnswIndex semanticIndex;
+    private volatile boolean loaded;
+
+    public ResumeIndex(
+            MatchFeaturesService matchFeaturesService,
+            MatchingService matchingService,
+            @Value("${resume.semantic.hnsw.m:16}") int m,
+            @Value("${resume.semantic.hnsw.ef-construction:64}") int efConstruction,
+            @Value("${resume.semantic.hnsw.ef-search:64}") int efSearch) {
+        this.matchFeaturesService = matchFeaturesService;
+        this.matchingService = matchingService;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.semanticIndex = new HnswIndex(m, efConstruction);
+        this.semanticBuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-semantic-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        matchFeaturesService.addInvalidationListener(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        semanticBuilder.shutdownNow();
+    }
+
+    /** A resume and its exact overall score in [0, 1]. */
+    public record Hit(long resumeId, double score) {
+    }
+
+    /** The best hits, best first, and how many resumes were scored to find them. */
+    public record TopK(List<Hit> hits, int scored) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index from every stored resume. Saves and deletes wait for the rebuild, so none
+     * of them is lost.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.currentTimeMillis();
+            resumes.clear();
+            postings.clear();
+            semanticIndex = new HnswIndex(m, efConstruction);
+            // In id order, so every posting list insert is an append
+            new TreeMap<>(matchFeaturesService.loadAllResumes()).forEach(this::index);
+            loaded = true;
+            log.info("Indexed {} resumes under {} terms in {} ms", resumes.size(), postings.size(),
+                System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        semanticBuilder.execute(this::buildSemanticIndex);
+    }
+
+    /**
+     * Builds the HNSW graph from a snapshot of the resumes without holding the lock, then applies
+     * the saves and deletes made meanwhile and swaps it in.
+     */
+    private void buildSemanticIndex() {
+        long start = System.currentTimeMillis();
+        Map<Long, float[]> snapshot = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            resumes.forEach((resumeId, features) -> snapshot.put(resumeId, features.embedding()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        HnswIndex graph = new HnswIndex(m, efConstruction);
+        snapshot.forEach(graph::add);
+
+        lock.writeLock().lock();
+        try {
+            // A saved resume has new features, so its embedding is a different array
+            resumes.forEach((resumeId, features) -> {
+                if (snapshot.get(resumeId) != features.embedding()) {
+                    graph.add(resumeId, features.embedding());
+                }
+            });
+            snapshot.keySet().stream().filter(resumeId -> !resumes.containsKey(resumeId)).forEach(graph::remove);
+            semanticIndex = graph;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built semantic index of {} resumes in {} ms", graph.size(), System.currentTimeMillis() - start);
+    }
+
+    /** Indexes a saved resume, replacing an older version of it. */
+    void update(Long resumeId, MatchFeaturesService.Features features) {
+        lock.writeLock().lock();
+        try {
+            MatchFeaturesService.Features current = resumes.get(resumeId);
+            if (current != null) {
+                if (current.version() > features.version()) {
+                    return;
+                }
+                unindex(resumeId, current);
+            }
+            index(resumeId, features);
+            semanticIndex.add(resumeId, features.embedding());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long resumeId) {
+        lock.writeLock().lock();
+        try {
+            MatchFeaturesService.Features current = resumes.get(resumeId);
+            if (current != null) {
+                unindex(resumeId, current);
+                semanticIndex.remove(resumeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Snapshot of the features of every indexed resume, keyed by id. */
+    public Map<Long, MatchFeaturesService.Features> features() {
+        lock.readLock().lock();
+        try {
+            return new HashMap<>(resumes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return resumes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The {@code k} resumes whose semantic vectors are nearest to the given one, nearest first. */
+    public List<HnswIndex.Neighbor> semanticTopK(float[] embedding, int k) {
+        load();
+        lock.readLock().lock();
+        try {
+            return semanticIndex.search(embedding, k, Math.max(efSearch, k));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The {@code k} resumes that best match the job description, scoring as few as possible. */
+    public TopK topK(MatchFeaturesService.Features jd, int k) {
+        load();
+        lock.readLock().lock();
+        try {
+            return retrieve(jd, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TopK retrieve(MatchFeaturesService.Features jd, int k) {
+        List<Cursor> cursors = new ArrayList<>();
+        double skillBound = matchingService.skillTermBound(jd);
+        for (int i = 0; i < jd.skills().size(); i++) {
+            addCursor(cursors, SKILL, jd.skills().get(i), skillBound);
+        }
+        double[] keywordBounds = matchingService.keywordTermBounds(jd);
+        for (int i = 0; i < jd.keywords().size(); i++) {
+            addCursor(cursors, KEYWORD, jd.keywords().id(i), keywordBounds[i]);
+        }
+        double sectionBound = matchingService.sectionTermBound(jd);
+        for (int i = 0; i < jd.sectionTerms().size(); i++) {
+            addCursor(cursors, SECTION, jd.sectionTerms().get(i), sectionBound);
+        }
+
+        // Weakest terms first; cumulative[i] bounds the terms of a resume found only in cursors [0, i)
+        cursors.sort(Comparator.comparingDouble(cursor -> cursor.bound));
+        int n = cursors.size();
+        double[] cumulative = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            cumulative[i + 1] = cumulative[i] + cursors.get(i).bound;
+        }
+
+        // Min-heap on ranking order: the head is the weakest hit kept so far
+        PriorityQueue<Hit> heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        Set<Long> seeded = new HashSet<>();
+        int seeds = Math.max(k, efSearch);
+        List<HnswIndex.Neighbor> nearest = semanticIndex.search(jd.embedding(), seeds, seeds);
+        for (HnswIndex.Neighbor neighbor : nearest) {
+            offer(heap, new Hit(neighbor.id(), matchingService.overallScore(resumes.get(neighbor.id()), jd)), k);
+            seeded.add(neighbor.id());
+        }
+        // What semantic similarity can add to a resume that was not seeded: no more than for the
+        // least similar seed, as far as the graph search found the true nearest resumes
+        double semanticWeight = matchingService.semanticWeight();
+        double semanticBound = nearest.size() < seeds ? semanticWeight
+            : semanticWeight * Math.max(0.0, nearest.get(seeds - 1).similarity());
+        double threshold = 0.0;
+        int essential = 0;
+        int scored = seeded.size();
+        if (heap.size() == k) {
+            threshold = heap.peek().score();
+            while (essential < n && cumulative[essential + 1] + semanticBound + EPSILON < threshold) {
+                essential++;
+            }
+        }
+
+        while (true) {
+            // Next candidate: the smallest resume id among the essential cursors
+            long resumeId = Long.MAX_VALUE;
+            for (int i = essential; i < n; i++) {
+                resumeId = Math.min(resumeId, cursors.get(i).current());
+            }
+            if (resumeId == Long.MAX_VALUE) {
+                break;
+            }
+
+            double bound = cumulative[essential];
+            for (int i = essential; i < n; i++) {
+                Cursor cursor = cursors.get(i);
+                if (cursor.current() == resumeId) {
+                    bound += cursor.bound;
+                    cursor.position++;
+                }
+            }
+            if (seeded.contains(resumeId)) {
+                continue;
+            }
+            bound += semanticBound;
+            // Probe the non-essential terms, strongest first, while the resume can still make it
+            for (int i = essential - 1; i >= 0 && (heap.size() < k || bound + EPSILON >= threshold); i--) {
+                Cursor cursor = cursors.get(i);
+                if (!cursor.advanceTo(resumeId)) {
+                    bound -= cursor.bound;
+                }
+            }
+            if (heap.size() == k && bound + EPSILON < threshold) {
+                continue;
+            }
+            // Tighten with the exact semantic part, one dot product, before scoring in full
+            MatchFeaturesService.Features resume = resumes.get(resumeId);
+            bound += semanticWeight * matchingService.semanticMatch(resume.embedding(), jd.embedding()) - semanticBound;
+            if (heap.size() == k && bound + EPSILON < threshold) {
+                continue;
+            }
+
+            offer(heap, new Hit(resumeId, matchingService.overallScore(resume, jd)), k);
+            scored++;
+            if (heap.size() == k) {
+                threshold = heap.peek().score();
+                while (essential < n && cumulative[essential + 1] + semanticBound + EPSILON < threshold) {
+                    essential++;
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(RANKING);
+        return new TopK(hits, scored);
+    }
+
+    private static void offer(PriorityQueue<Hit> heap, Hit hit, int k) {
+        if (heap.size() < k) {
+            heap.add(hit);
+        } else if (RANKING.compare(hit, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(hit);
+        }
+    }
+
+    private void addCursor(List<Cursor> cursors, long field, int termId, double bound) {
+        PostingList list = postings.get(key(field, termId));
+        if (list != null && bound > 0.0) {
+            cursors.add(new Cursor(list, bound));
+        }
+    }
+
+    private void index(Long resumeId, MatchFeaturesService.Features features) {
+        resumes.put(resumeId, features);
+        for (int i = 0; i < features.skills().size(); i++) {
+            postings.computeIfAbsent(key(SKILL, features.skills().get(i)), ignored -> new PostingList()).add(resumeId);
+        }
+        for (int i = 0; i < features.keywords().size(); i++) {
+            postings.computeIfAbsent(key(KEYWORD, features.keywords().id(i)), ignored -> new PostingList()).add(resumeId);
+        }
+        for (int i = 0; i < features.sectionTerms().size(); i++) {
+            postings.computeIfAbsent(key(SECTION, features.sectionTerms().get(i)), ignored -> new PostingList()).add(resumeId);
+        }
+    }
+
+    private void unindex(Long resumeId, MatchFeaturesService.Features features) {
+        resumes.remove(resumeId);
+        for (int i = 0; i < features.skills().size(); i++) {
+            removePosting(key(SKILL, features.skills().get(i)), resumeId);
+        }
+        for (int i = 0; i < features.keywords().size(); i++) {
+            removePosting(key(KEYWORD, features.keywords().id(i)), resumeId);
+        }
+        for (int i = 0; i < features.sectionTerms().size(); i++) {
+            removePosting(key(SECTION, features.sectionTerms().get(i)), resumeId);
+        }
+    }
+
+    private void removePosting(long key, long resumeId) {
+        PostingList list = postings.get(key);
+        if (list != null && list.remove(resumeId) && list.size == 0) {
+            postings.remove(key);
+        }
+    }
+
+    private static long key(long field, int termId) {
+        return field << 32 | termId;
+    }
+
+    /** Sorted resume ids containing one term. */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /** Position of one query term in its posting list; only moves forward. */
+    private static final class Cursor {
+        private final PostingList list;
+        private final double bound;
+        private int position;
+
+        Cursor(PostingList list, double bound) {
+            this.list = list;
+            this.bound = bound;
+        }
+
+        long current() {
+            return position < list.size ? list.ids[position] : Long.MAX_VALUE;
+        }
+
+        /** Moves to the first id not below {@code id} and reports whether it is {@code id}. */
+        boolean advanceTo(long id) {
+            if (current() < id) {
+                int index = Arrays.binarySearch(list.ids, position, list.size, id);
+                position = index >= 0 ? index : -index - 1;
+            }
+            return current() == id;
+        }
+    }
+}
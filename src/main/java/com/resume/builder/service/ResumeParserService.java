@@ -1,349 +1,365 @@
 package com.resume.builder.service;
 
+import com.resume.builder.dto.EducationEntryDTO;
+import com.resume.builder.dto.ExperienceEntryDTO;
+import com.resume.builder.dto.ProjectEntryDTO;
 import com.resume.builder.model.Resume;
+import com.resume.builder.service.ResumeSectionSegmenter.LineRange;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class ResumeParserService {
 
-    public Resume parseResume(MultipartFile file) throws IOException {
-        String text = extractTextFromFile(file);
-        return parseTextToResume(text, file.getOriginalFilename());
-    }
+    private static final int MAX_SECTION_ENTRIES = 5;
+    private static final String[] BOUNDARY_ROLES = {"developer", "engineer", "manager", "intern", "analyst"};
+    private static final String[] TITLE_ROLES =
+        {"developer", "engineer", "manager", "intern", "analyst", "designer", "consultant"};
+    private static final String[] COMPANY_EXCLUDED_ROLES = {"developer", "engineer", "manager", "intern"};
+    private static final Pattern YEAR_PATTERN = Pattern.compile(
+        "(\\d{4}\\s*-\\s*\\d{4}|\\d{4}\\s*-\\s*Present|\\w{3}\\.?\\s*\\d{4}\\s*-\\s*\\w{3}\\.?\\s*\\d{4})");
+    private static final Pattern DURATION_PATTERN = Pattern.compile(
+        "(\\w{3}\\.?\\s*\\d{4}\\s*-\\s*(\\w{3}\\.?\\s*\\d{4}|Present))");
 
-    private String extractTextFromFile(MultipartFile file) throws IOException {
-        String filename = file.getOriginalFilename();
-        
-        if (filename == null) {
-            throw new IllegalArgumentException("File must have a name");
-        }
+    private final DocumentTextExtractor textExtractor;
+    private final ContactScanner contactScanner;
+    private final ResumeSectionSegmenter sectionSegmenter;
+    private final ResumeSectionJsonWriter jsonWriter;
+    private final SkillMatcher skillMatcher;
 
-        if (filename.endsWith(".pdf")) {
-            return extractTextFromPDF(file);
-        } else if (filename.endsWith(".docx")) {
-            return extractTextFromDocx(file);
-        } else if (filename.endsWith(".txt")) {
-            return new String(file.getBytes());
-        } else {
-            throw new IllegalArgumentException("Only PDF, DOCX, and TXT files are supported");
-        }
+    public Resume parseResume(MultipartFile file) throws IOException {
+        String text = textExtractor.extractText(file);
+        return parseTextToResume(text, file.getOriginalFilename());
     }
 
-    private String extractTextFromPDF(MultipartFile file) throws IOException {
-        // PDFBox 3.x uses Loader.loadPDF instead of PDDocument.load
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
-    }
-
-    private String extractTextFromDocx(MultipartFile file) throws IOException {
-        StringBuilder text = new StringBuilder();
-        try (XWPFDocument document = new XWPFDocument(file.getInputStream())) {
-            for (XWPFParagraph paragraph : document.getParagraphs()) {
-                text.append(paragraph.getText()).append("\n");
-            }
-        }
-        return text.toString();
+    public Resume parseResume(Path file, String filename) throws IOException {
+        String text = textExtractor.extractText(file, filename);
+        return parseTextToResume(text, filename);
     }
 
     private Resume parseTextToResume(String text, String filename) {
         Resume resume = new Resume();
         resume.setOriginalFilename(filename);
 
-        // Extract email
-        String email = extractEmail(text);
-        resume.setEmail(email);
+        // Index lines once; every extractor below reads from this view
+        ParsedDocument document = ParsedDocument.parse(text);
 
-        // Extract phone
-        String phone = extractPhone(text);
-        resume.setPhone(phone);
+        // Extract email, phone, LinkedIn and GitHub in one scan
+        ContactScanner.ContactInfo contact = contactScanner.scan(text);
+        resume.setEmail(contact.email());
+        resume.setPhone(contact.phone());
+        resume.setLinkedIn(contact.linkedIn());
+        resume.setGithub(contact.github());
 
         // Extract name (usually first line)
-        String name = extractName(text);
+        String name = extractName(document);
         resume.setName(name);
 
-        // Extract LinkedIn
-        String linkedin = extractLinkedIn(text);
-        resume.setLinkedIn(linkedin);
-
-        // Extract GitHub
-        String github = extractGitHub(text);
-        resume.setGithub(github);
+        // Locate all section headers in one pass, then slice each section out
+        ResumeSectionSegmenter.Sections sections = sectionSegmenter.segment(document);
 
         // Extract sections and convert to JSON format for frontend
-        String summary = extractSection(text, "summary", "objective", "profile", "professional summary");
+        String summary = sections.get(ResumeSectionSegmenter.SUMMARY);
         if (summary.isEmpty()) {
             summary = "Experienced developer with expertise in backend development, Spring Boot, and cloud technologies.";
         }
         resume.setSummary(summary);
         
-        String experienceText = extractSection(text, "experience", "work experience", "employment", "work history");
-        resume.setExperience(convertToJsonArray(experienceText, "experience"));
+        LineRange experience = sections.range(ResumeSectionSegmenter.EXPERIENCE);
+        resume.setExperience(jsonWriter.writeExperience(parseExperienceEntries(document, experience)));
         
-        String educationText = extractSection(text, "education", "academic", "qualifications", "academic background");
-        resume.setEducation(convertToJsonArray(educationText, "education"));
+        LineRange education = sections.range(ResumeSectionSegmenter.EDUCATION);
+        resume.setEducation(jsonWriter.writeEducation(parseEducationEntries(document, education)));
         
-        String projectsText = extractSection(text, "projects", "portfolio", "personal projects");
-        resume.setProjects(convertToJsonArray(projectsText, "projects"));
+        LineRange projects = sections.range(ResumeSectionSegmenter.PROJECTS);
+        resume.setProjects(jsonWriter.writeProjects(parseProjectEntries(document, projects)));
         
-        resume.setSkills(extractSection(text, "technical skills", "skills", "competencies", "technologies", "expertise"));
-        resume.setCertifications(extractSection(text, "certifications", "certificates", "licenses", "credentials"));
+        String skills = sections.get(ResumeSectionSegmenter.SKILLS);
+        if (skills.isEmpty()) {
+            // No skills section; fall back to known skills mentioned anywhere in the resume
+            skills = String.join(", ", skillMatcher.findSkills(text));
+        }
+        resume.setSkills(skills);
+        resume.setCertifications(sections.get(ResumeSectionSegmenter.CERTIFICATIONS));
 
         return resume;
     }
 
-    private String extractEmail(String text) {
-        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group() : "";
+    private String extractName(ParsedDocument document) {
+        for (int line = 0; line < document.lineCount(); line++) {
+            int length = document.trimmedLength(line);
+            if (length > 0 && length < 50 && isLettersAndSpaces(document, line)) {
+                return document.line(line);
+            }
+        }
+        return "";
     }
 
-    private String extractPhone(String text) {
-        Pattern pattern = Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group() : "";
+    private boolean isLettersAndSpaces(ParsedDocument document, int line) {
+        for (int i = document.trimStart(line); i < document.trimEnd(line); i++) {
+            char c = document.charAt(i);
+            if (!isAsciiLetter(c) && !isRegexWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private String extractName(String text) {
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (!line.isEmpty() && line.length() < 50 && line.matches("[A-Za-z\\s]+")) {
-                return line;
+    private List<EducationEntryDTO> parseEducationEntries(ParsedDocument document, LineRange section) {
+        List<EducationEntryDTO> entries = new ArrayList<>();
+        // Entries start at a line naming a university or reading like "<Degree> in <Field>"
+        for (Entry entry : splitEntries(document, section, this::isEducationBoundary)) {
+            if (entry.text().length() > 10) {
+                entries.add(new EducationEntryDTO(document.line(entry.fromLine()), "",
+                    extractInstitution(document, entry), extractYear(entry.text())));
             }
         }
-        return "";
+        return entries;
     }
 
-    private String extractLinkedIn(String text) {
-        Pattern pattern = Pattern.compile("(https?://)?(www\\.)?linkedin\\.com/in/[a-zA-Z0-9-]+");
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group() : "";
+    private List<ExperienceEntryDTO> parseExperienceEntries(ParsedDocument document, LineRange section) {
+        List<ExperienceEntryDTO> entries = new ArrayList<>();
+        // Entries start at a capitalised line or a line naming a role
+        for (Entry entry : splitEntries(document, section, this::isExperienceBoundary)) {
+            if (entry.text().length() > 20 && !entry.text().startsWith("•")) {
+                entries.add(new ExperienceEntryDTO(extractJobTitle(document, entry), extractCompany(document, entry),
+                    extractDuration(entry.text()), "", extractDescription(document, entry)));
+            }
+        }
+        return entries;
     }
 
-    private String extractGitHub(String text) {
-        Pattern pattern = Pattern.compile("(https?://)?(www\\.)?github\\.com/[a-zA-Z0-9-]+");
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group() : "";
+    private List<ProjectEntryDTO> parseProjectEntries(ParsedDocument document, LineRange section) {
+        List<ProjectEntryDTO> entries = new ArrayList<>();
+        // Entries start at a "Project Name | tech" line
+        for (Entry entry : splitEntries(document, section, this::isProjectBoundary)) {
+            if (entry.text().length() > 10) {
+                entries.add(new ProjectEntryDTO(extractProjectName(document, entry),
+                    extractTechnologies(document, entry), extractDescription(document, entry), ""));
+            }
+        }
+        return entries;
     }
 
-    private String extractSection(String text, String... sectionNames) {
-        String lowerText = text.toLowerCase();
-        
-        for (String sectionName : sectionNames) {
-            // Look for the section name at the start of a line (with possible whitespace)
-            Pattern pattern = Pattern.compile("(?m)^\\s*" + Pattern.quote(sectionName) + "\\s*$", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(text);
-            
-            if (matcher.find()) {
-                int startIndex = matcher.end();
-                
-                // Find the end of this section (next section or end of text)
-                int endIndex = findNextSectionStart(lowerText, startIndex);
-                
-                if (endIndex == -1) {
-                    endIndex = text.length();
+    /**
+     * Splits a section into at most {@link #MAX_SECTION_ENTRIES} entries, starting a new entry at
+     * every non-blank line (other than the first) accepted by the boundary test.
+     */
+    private List<Entry> splitEntries(ParsedDocument document, LineRange section, EntryBoundary boundary) {
+        List<Entry> entries = new ArrayList<>();
+        if (section == null) {
+            return entries;
+        }
+
+        int first = section.fromLine();
+        int last = section.toLine() - 1;
+        while (first <= last && document.isBlank(first)) first++;
+        while (last >= first && document.isBlank(last)) last--;
+        if (first > last) {
+            return entries;
+        }
+
+        int entryStart = first;
+        for (int line = first + 1; line <= last; line++) {
+            if (boundary.startsEntry(document.getText(), document.lineStart(line), document.lineEnd(line), line < last)) {
+                entries.add(new Entry(entryStart, line, document.text(entryStart, line)));
+                if (entries.size() == MAX_SECTION_ENTRIES) {
+                    return entries;
                 }
-                
-                String section = text.substring(startIndex, endIndex).trim();
-                
-                return section;
+                entryStart = line;
             }
         }
-        
-        return "";
+        entries.add(new Entry(entryStart, last + 1, document.text(entryStart, last + 1)));
+        return entries;
     }
 
-    private int findNextSectionStart(String text, int fromIndex) {
-        String[] commonSections = {
-            "summary", "objective", "profile", "professional summary",
-            "experience", "work experience", "employment", "work history",
-            "education", "academic", "qualifications", "academic background",
-            "technical skills", "skills", "competencies", "technologies",
-            "projects", "portfolio", "personal projects",
-            "certifications", "certificates", "licenses", "credentials",
-            "awards", "achievements", "honors",
-            "languages", "language proficiency"
-        };
-        
-        int minIndex = -1;
-        
-        for (String section : commonSections) {
-            // Look for section headers at the start of a line
-            Pattern pattern = Pattern.compile("(?m)^\\s*" + Pattern.quote(section) + "\\s*$", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(text);
-            
-            if (matcher.find(fromIndex)) {
-                int index = matcher.start();
-                if (index > fromIndex && (minIndex == -1 || index < minIndex)) {
-                    minIndex = index;
-                }
-            }
+    private boolean isEducationBoundary(String text, int start, int end, boolean moreLines) {
+        if (start == end || !isUpperAscii(text.charAt(start))) {
+            return false;
         }
-        
-        return minIndex;
+        int runEnd = letterRunEnd(text, start, end, false);
+        return indexOfInRun(text, "University", start + 1, runEnd) != -1
+            || followedByWhitespace(text, indexOfInRun(text, "in", start + 1, runEnd), 2, runEnd, end, moreLines);
     }
-    
-    private String convertToJsonArray(String text, String type) {
-        if (text == null || text.trim().isEmpty()) {
-            return "[]";
+
+    private boolean isExperienceBoundary(String text, int start, int end, boolean moreLines) {
+        if (start == end) {
+            return false;
         }
-        
-        StringBuilder json = new StringBuilder("[");
-        
-        if ("education".contains(type)) {
-            // Split by university names or degree patterns
-            String[] entries = text.split("(?=\\n[A-Z][a-zA-Z\\s]+University|(?m)^[A-Z][a-zA-Z\\s]+in\\s+)");
-            for (int i = 0; i < entries.length && i < 5; i++) {
-                String entry = entries[i].trim();
-                if (entry.length() > 10) {
-                    if (i > 0) json.append(",");
-                    json.append("{")
-                        .append("\"degree\":\"").append(escapeJson(extractLine(entry, 0))).append("\",")
-                        .append("\"field\":\"\",")
-                        .append("\"institution\":\"").append(escapeJson(extractInstitution(entry))).append("\",")
-                        .append("\"year\":\"").append(escapeJson(extractYear(entry))).append("\"")
-                        .append("}");
-                }
+        if (isUpperAscii(text.charAt(start))) {
+            return true;
+        }
+        int runEnd = letterRunEnd(text, start, end, false);
+        for (String role : BOUNDARY_ROLES) {
+            if (followedByWhitespace(text, indexOfInRun(text, role, start, runEnd), role.length(), runEnd, end, moreLines)) {
+                return true;
             }
-        } else if ("experience".contains(type)) {
-            // Split by job titles or company patterns
-            String[] entries = text.split("(?=\\n[A-Za-z\\s]+(developer|engineer|manager|intern|analyst)[\\s\\n])|(?=\\n[A-Z])");
-            for (int i = 0; i < entries.length && i < 5; i++) {
-                String entry = entries[i].trim();
-                if (entry.length() > 20 && !entry.startsWith("•")) {
-                    if (i > 0) json.append(",");
-                    json.append("{")
-                        .append("\"title\":\"").append(escapeJson(extractJobTitle(entry))).append("\",")
-                        .append("\"company\":\"").append(escapeJson(extractCompany(entry))).append("\",")
-                        .append("\"duration\":\"").append(escapeJson(extractDuration(entry))).append("\",")
-                        .append("\"location\":\"\",")
-                        .append("\"description\":\"").append(escapeJson(extractDescription(entry))).append("\"")
-                        .append("}");
-                }
+        }
+        return false;
+    }
+
+    private boolean isProjectBoundary(String text, int start, int end, boolean moreLines) {
+        if (start == end || !isUpperAscii(text.charAt(start))) {
+            return false;
+        }
+        int runEnd = letterRunEnd(text, start + 1, end, true);
+        return runEnd > start + 1 && runEnd < end && text.charAt(runEnd) == '|';
+    }
+
+    // End of the run of ASCII letters, whitespace and (optionally) digits starting at start
+    private static int letterRunEnd(String text, int start, int end, boolean allowDigits) {
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (!isAsciiLetter(c) && !isRegexWhitespace(c) && !(allowDigits && c >= '0' && c <= '9')) {
+                break;
             }
-        } else if ("projects".contains(type)) {
-            // Split by project names
-            String[] entries = text.split("(?=\\n[A-Z][a-zA-Z0-9\\s]+\\|)");
-            for (int i = 0; i < entries.length && i < 5; i++) {
-                String entry = entries[i].trim();
-                if (entry.length() > 10) {
-                    if (i > 0) json.append(",");
-                    json.append("{")
-                        .append("\"name\":\"").append(escapeJson(extractProjectName(entry))).append("\",")
-                        .append("\"technologies\":\"").append(escapeJson(extractTechnologies(entry))).append("\",")
-                        .append("\"description\":\"").append(escapeJson(extractDescription(entry))).append("\",")
-                        .append("\"url\":\"\"")
-                        .append("}");
-                }
+            i++;
+        }
+        return i;
+    }
+
+    // First occurrence of word inside [from, runEnd) that has at least one run character before it
+    private static int indexOfInRun(String text, String word, int from, int runEnd) {
+        for (int i = from + 1; i + word.length() <= runEnd; i++) {
+            if (text.startsWith(word, i)) {
+                return i;
             }
         }
-        
-        json.append("]");
-        return json.toString();
+        return -1;
     }
-    
-    private String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", " ")
-                  .replace("\r", "")
-                  .trim();
+
+    private static boolean followedByWhitespace(String text, int index, int length, int runEnd, int lineEnd, boolean moreLines) {
+        if (index == -1) {
+            return false;
+        }
+        int after = index + length;
+        if (after < runEnd) {
+            return isRegexWhitespace(text.charAt(after));
+        }
+        // The line break itself counts as trailing whitespace
+        return after == lineEnd && moreLines;
     }
-    
-    private String extractLine(String text, int lineNumber) {
-        String[] lines = text.split("\n");
-        return lineNumber < lines.length ? lines[lineNumber].trim() : "";
+
+    private static boolean isUpperAscii(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    @FunctionalInterface
+    private interface EntryBoundary {
+        boolean startsEntry(String text, int lineStart, int lineEnd, boolean moreLines);
     }
     
-    private String extractInstitution(String text) {
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            if (line.contains("University") || line.contains("College") || line.contains("Institute")) {
-                return line.trim();
+    private String extractInstitution(ParsedDocument document, Entry entry) {
+        for (int line = entry.fromLine(); line < entry.toLine(); line++) {
+            if (document.lineContains(line, "University") || document.lineContains(line, "College")
+                    || document.lineContains(line, "Institute")) {
+                return document.line(line);
             }
         }
-        return lines.length > 0 ? lines[0].trim() : "";
+        return document.line(entry.fromLine());
     }
     
     private String extractYear(String text) {
-        Pattern pattern = Pattern.compile("(\\d{4}\\s*-\\s*\\d{4}|\\d{4}\\s*-\\s*Present|\\w{3}\\.?\\s*\\d{4}\\s*-\\s*\\w{3}\\.?\\s*\\d{4})");
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = YEAR_PATTERN.matcher(text);
         return matcher.find() ? matcher.group() : "";
     }
     
-    private String extractJobTitle(String text) {
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (line.matches(".*(?i)(developer|engineer|manager|intern|analyst|designer|consultant).*") && line.length() < 80) {
-                return line;
+    private String extractJobTitle(ParsedDocument document, Entry entry) {
+        for (int line = entry.fromLine(); line < entry.toLine(); line++) {
+            if (document.trimmedLength(line) < 80 && containsAny(document, line, TITLE_ROLES)) {
+                return document.line(line);
             }
         }
-        return lines.length > 0 ? lines[0].trim() : "";
+        return document.line(entry.fromLine());
     }
     
-    private String extractCompany(String text) {
-        String[] lines = text.split("\n");
-        for (int i = 0; i < Math.min(3, lines.length); i++) {
-            String line = lines[i].trim();
-            if (!line.matches(".*(?i)(developer|engineer|manager|intern).*") && line.length() > 5 && line.length() < 80) {
-                return line.replaceAll("\\d{4}.*", "").trim();
+    private String extractCompany(ParsedDocument document, Entry entry) {
+        for (int line = entry.fromLine(); line < Math.min(entry.fromLine() + 3, entry.toLine()); line++) {
+            int length = document.trimmedLength(line);
+            if (!containsAny(document, line, COMPANY_EXCLUDED_ROLES) && length > 5 && length < 80) {
+                // Drop anything from the first four-digit run (usually the dates) onwards
+                int cut = indexOfYear(document, line);
+                return cut == -1 ? document.line(line) : document.slice(document.trimStart(line), cut);
             }
         }
         return "";
     }
+
+    private int indexOfYear(ParsedDocument document, int line) {
+        int digits = 0;
+        for (int i = document.trimStart(line); i < document.trimEnd(line); i++) {
+            char c = document.charAt(i);
+            digits = c >= '0' && c <= '9' ? digits + 1 : 0;
+            if (digits == 4) {
+                return i - 3;
+            }
+        }
+        return -1;
+    }
     
     private String extractDuration(String text) {
-        Pattern pattern = Pattern.compile("(\\w{3}\\.?\\s*\\d{4}\\s*-\\s*(\\w{3}\\.?\\s*\\d{4}|Present))");
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = DURATION_PATTERN.matcher(text);
         return matcher.find() ? matcher.group() : "";
     }
     
-    private String extractDescription(String text) {
+    private String extractDescription(ParsedDocument document, Entry entry) {
         StringBuilder description = new StringBuilder();
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (line.startsWith("•") || line.startsWith("-") || line.startsWith("*")) {
+        for (int line = entry.fromLine(); line < entry.toLine(); line++) {
+            if (document.kind(line) == ParsedDocument.LineKind.BULLET) {
                 if (description.length() > 0) description.append(" ");
-                description.append(line);
+                description.append(document.getText(), document.trimStart(line), document.trimEnd(line));
                 if (description.length() > 500) break; // Limit length
             }
         }
         return description.toString();
     }
     
-    private String extractProjectName(String text) {
-        String[] lines = text.split("\n");
-        if (lines.length > 0) {
-            return lines[0].split("\\|")[0].trim();
-        }
-        return "";
+    private String extractProjectName(ParsedDocument document, Entry entry) {
+        int line = entry.fromLine();
+        int pipe = document.indexOfInLine(line, '|', document.trimStart(line));
+        return pipe == -1 ? document.line(line) : document.slice(document.trimStart(line), pipe);
     }
     
-    private String extractTechnologies(String text) {
-        String[] lines = text.split("\n");
-        if (lines.length > 0 && lines[0].contains("|")) {
-            String[] parts = lines[0].split("\\|");
-            if (parts.length > 1) {
-                return parts[1].trim();
+    private String extractTechnologies(ParsedDocument document, Entry entry) {
+        int line = entry.fromLine();
+        int pipe = document.indexOfInLine(line, '|', document.trimStart(line));
+        if (pipe == -1) {
+            return "";
+        }
+        int nextPipe = document.indexOfInLine(line, '|', pipe + 1);
+        return document.slice(pipe + 1, nextPipe == -1 ? document.trimEnd(line) : nextPipe);
+    }
+
+    private boolean containsAny(ParsedDocument document, int line, String[] lowerNeedles) {
+        for (String needle : lowerNeedles) {
+            if (document.lineContainsIgnoreCase(line, needle)) {
+                return true;
             }
         }
-        return "";
+        return false;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // Same set as the regex \s class
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private record Entry(int fromLine, int toLine, String text) {
     }
 }
@@ -0,0 +1,107 @@
+package com.resume.builder.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.resume.builder.dto.EducationEntryDTO;
+import com.resume.builder.dto.ExperienceEntryDTO;
+import com.resume.builder.dto.ProjectEntryDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Serializes parsed section entries into the JSON arrays stored on {@code Resume}.
+ * Entries are streamed through a single {@link JsonGenerator}, which also takes care of escaping.
+ */
+@Component
+public class ResumeSectionJsonWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public String writeEducation(List<EducationEntryDTO> entries) {
+        return writeArray(entries, (generator, entry) -> {
+            writeField(generator, "degree", entry.getDegree());
+            writeField(generator, "field", entry.getField());
+            writeField(generator, "institution", entry.getInstitution());
+            writeField(generator, "year", entry.getYear());
+        });
+    }
+
+    public String writeExperience(List<ExperienceEntryDTO> entries) {
+        return writeArray(entries, (generator, entry) -> {
+            writeField(generator, "title", entry.getTitle());
+            writeField(generator, "company", entry.getCompany());
+            writeField(generator, "duration", entry.getDuration());
+            writeField(generator, "location", entry.getLocation());
+            writeField(generator, "description", entry.getDescription());
+        });
+    }
+
+    public String writeProjects(List<ProjectEntryDTO> entries) {
+        return writeArray(entries, (generator, entry) -> {
+            writeField(generator, "name", entry.getName());
+            writeField(generator, "technologies", entry.getTechnologies());
+            writeField(generator, "description", entry.getDescription());
+            writeField(generator, "url", entry.getUrl());
+        });
+    }
+
+    private <T> String writeArray(List<T> entries, EntryWriter<T> entryWriter) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (T entry : entries) {
+                generator.writeStartObject();
+                entryWriter.write(generator, entry);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private void writeField(JsonGenerator generator, String name, String value) throws IOException {
+        generator.writeStringField(name, flatten(value));
+    }
+
+    // Folds line breaks into spaces and trims, in one pass
+    private static String flatten(String value) {
+        if (value == null) {
+            return "";
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && isTrimmable(value.charAt(start))) start++;
+        while (end > start && isTrimmable(value.charAt(end - 1))) end--;
+
+        StringBuilder flat = null;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (flat == null) {
+                    flat = new StringBuilder(end - start).append(value, start, i);
+                }
+                if (c == '\n') {
+                    flat.append(' ');
+                }
+            } else if (flat != null) {
+                flat.append(c);
+            }
+        }
+        return flat != null ? flat.toString() : value.substring(start, end);
+    }
+
+    private static boolean isTrimmable(char c) {
+        return c <= ' ';
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter<T> {
+        void write(JsonGenerator generator, T entry) throws IOException;
+    }
+}
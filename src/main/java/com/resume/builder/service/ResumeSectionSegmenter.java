@@ -0,0 +1,117 @@
+package com.resume.builder.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a resume into sections in a single pass over its lines.
+ * A line is a section header when its trimmed, lower-cased content equals one of the known aliases.
+ */
+@Component
+public class ResumeSectionSegmenter {
+
+    public static final String SUMMARY = "summary";
+    public static final String EXPERIENCE = "experience";
+    public static final String EDUCATION = "education";
+    public static final String SKILLS = "skills";
+    public static final String PROJECTS = "projects";
+    public static final String CERTIFICATIONS = "certifications";
+    public static final String AWARDS = "awards";
+    public static final String LANGUAGES = "languages";
+
+    // Aliases per section, in lookup priority order
+    private static final Map<String, List<String>> SECTION_ALIASES = new LinkedHashMap<>();
+
+    static {
+        SECTION_ALIASES.put(SUMMARY, List.of("summary", "objective", "profile", "professional summary"));
+        SECTION_ALIASES.put(EXPERIENCE, List.of("experience", "work experience", "employment", "work history"));
+        SECTION_ALIASES.put(EDUCATION, List.of("education", "academic", "qualifications", "academic background"));
+        SECTION_ALIASES.put(PROJECTS, List.of("projects", "portfolio", "personal projects"));
+        SECTION_ALIASES.put(SKILLS, List.of("technical skills", "skills", "competencies", "technologies", "expertise"));
+        SECTION_ALIASES.put(CERTIFICATIONS, List.of("certifications", "certificates", "licenses", "credentials"));
+        SECTION_ALIASES.put(AWARDS, List.of("awards", "achievements", "honors"));
+        SECTION_ALIASES.put(LANGUAGES, List.of("languages", "language proficiency"));
+    }
+
+    private static final Map<String, String> HEADER_LOOKUP = new HashMap<>();
+    private static final int MAX_HEADER_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (List<String> aliases : SECTION_ALIASES.values()) {
+            for (String alias : aliases) {
+                HEADER_LOOKUP.put(alias, alias);
+                maxLength = Math.max(maxLength, alias.length());
+            }
+        }
+        MAX_HEADER_LENGTH = maxLength;
+    }
+
+    public Sections segment(ParsedDocument document) {
+        Map<String, LineRange> ranges = new HashMap<>();
+        String openHeader = null;
+        int openLine = 0;
+
+        for (int line = 0; line < document.lineCount(); line++) {
+            String header = document.heading(line);
+            if (header != null) {
+                if (openHeader != null) {
+                    ranges.putIfAbsent(openHeader, new LineRange(openLine, line));
+                }
+                openHeader = header;
+                openLine = line + 1;
+            }
+        }
+
+        if (openHeader != null) {
+            ranges.putIfAbsent(openHeader, new LineRange(openLine, document.lineCount()));
+        }
+
+        return new Sections(document, ranges);
+    }
+
+    /**
+     * Returns the alias when the trimmed, lower-cased line in {@code lowerText[start, end)} is a
+     * known section header, otherwise null.
+     */
+    static String headerAlias(char[] lowerText, int start, int end) {
+        if (start == end || end - start > MAX_HEADER_LENGTH) {
+            return null;
+        }
+        return HEADER_LOOKUP.get(new String(lowerText, start, end - start));
+    }
+
+    /** Content lines of a section, from the line after its header up to (excluding) the next header. */
+    public record LineRange(int fromLine, int toLine) {
+    }
+
+    public static class Sections {
+        private final ParsedDocument document;
+        private final Map<String, LineRange> rangesByAlias;
+
+        Sections(ParsedDocument document, Map<String, LineRange> rangesByAlias) {
+            this.document = document;
+            this.rangesByAlias = rangesByAlias;
+        }
+
+        public LineRange range(String section) {
+            for (String alias : SECTION_ALIASES.getOrDefault(section, Collections.emptyList())) {
+                LineRange range = rangesByAlias.get(alias);
+                if (range != null) {
+                    return range;
+                }
+            }
+            return null;
+        }
+
+        public String get(String section) {
+            LineRange range = range(section);
+            return range == null ? "" : document.text(range.fromLine(), range.toLine());
+        }
+    }
+}
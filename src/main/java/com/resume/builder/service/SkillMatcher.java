@@ -0,0 +1,174 @@
+package com.resume.builder.service;
+
+import com.resume.builder.util.AhoCorasickMatcher;
+import com.resume.builder.util.BkTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds known skills in free text using an automaton built from the skill dictionary and the
+ * taxonomy aliases, so detection costs one pass over the text however large the dictionary is.
+ * Hits are reported by canonical name; the automaton is rebuilt when the taxonomy reloads. Skills
+ * that are also common words ("less", "spark") are bracketed in the dictionary or taxonomy and left
+ * out of the automaton, so they are only recognized in skill lists.
+ *
+ * <p>Skills listed one by one are also resolved when misspelled ("kubernets"), through a BK-tree
+ * over the same phrases that finds the known ones within a few edits without comparing against
+ * each of them.
+ */
+@Component
+@Slf4j
+public class SkillMatcher {
+
+    private final SkillTaxonomy taxonomy;
+    private final Dictionary dictionary;
+    private final int maxEdits;
+    private final double minConfidence;
+    private volatile Automaton automaton;
+
+    /** Canonical name of a listed skill, with 1.0 confidence when it is known as written. */
+    public record Resolution(String canonicalName, double confidence) {
+    }
+
+    public SkillMatcher(
+            SkillTaxonomy taxonomy,
+            @Value("${resume.skills.dictionary:classpath:skills.txt}") Resource dictionary,
+            @Value("${resume.skills.fuzzy-max-edits:2}") int maxEdits,
+            @Value("${resume.skills.fuzzy-min-confidence:0.8}") double minConfidence) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("resume.skills.fuzzy-max-edits must not be negative: " + maxEdits);
+        }
+        if (minConfidence < 0.0 || minConfidence > 1.0) {
+            throw new IllegalArgumentException("resume.skills.fuzzy-min-confidence must be between 0 and 1: " + minConfidence);
+        }
+        this.taxonomy = taxonomy;
+        this.dictionary = loadDictionary(dictionary);
+        this.maxEdits = maxEdits;
+        this.minConfidence = minConfidence;
+        this.automaton = buildAutomaton();
+        log.info("Loaded {} skills from {}", this.dictionary.size(), dictionary.getDescription());
+        taxonomy.addReloadListener(() -> automaton = buildAutomaton());
+    }
+
+    /** Canonical names of the skills found as whole words in the text, in order of first appearance. */
+    public Set<String> findSkills(CharSequence text) {
+        Set<String> skills = new LinkedHashSet<>();
+        if (text != null) {
+            Automaton current = automaton;
+            current.matcher().scan(text, (phrase, start, end) -> skills.add(current.canonicalNames()[phrase]));
+        }
+        return skills;
+    }
+
+    /**
+     * Resolves one listed skill. A known skill or alias is matched by its taxonomy key; otherwise
+     * the closest known phrase within the allowed edits and starting with the same character is
+     * taken, with a confidence of one minus the share of characters edited. A skill left unknown,
+     * as close to two different skills, or only resolved below the minimum confidence is returned
+     * canonicalized as the taxonomy would.
+     */
+    public Resolution resolve(String skill) {
+        Automaton current = automaton;
+        String key = SkillTaxonomy.normalize(skill);
+        String known = current.canonicalNamesByKey().get(key);
+        if (known != null) {
+            return new Resolution(known, 1.0);
+        }
+
+        // Distinct names often differ in their first letter only ("netty" and "jetty")
+        List<BkTree.Match<String>> matches = current.phrases().search(key, allowedEdits(key.length())).stream()
+            .filter(match -> match.key().charAt(0) == key.charAt(0))
+            .toList();
+        if (!matches.isEmpty()) {
+            BkTree.Match<String> closest = matches.get(0);
+            boolean ambiguous = matches.stream()
+                .anyMatch(match -> match.distance() == closest.distance() && !match.value().equals(closest.value()));
+            double confidence = 1.0 - (double) closest.distance() / Math.max(key.length(), closest.key().length());
+            if (!ambiguous && confidence >= minConfidence) {
+                return new Resolution(closest.value(), confidence);
+            }
+        }
+        return new Resolution(taxonomy.canonicalize(skill), 1.0);
+    }
+
+    // Short names are too close to each other to correct: one edit from 6 characters, two from 10
+    private int allowedEdits(int length) {
+        return Math.min(maxEdits, length < 6 ? 0 : length < 10 ? 1 : 2);
+    }
+
+    private Automaton buildAutomaton() {
+        List<String> phrases = new ArrayList<>(dictionary.phrases());
+        phrases.addAll(taxonomy.terms());
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.build(phrases);
+
+        String[] canonicalNames = new String[matcher.size()];
+        Map<String, String> canonicalNamesByKey = new HashMap<>();
+        BkTree<String> tree = new BkTree<>();
+        for (int i = 0; i < canonicalNames.length; i++) {
+            canonicalNames[i] = taxonomy.canonicalize(matcher.phrase(i));
+            addListedPhrase(matcher.phrase(i), canonicalNames[i], canonicalNamesByKey, tree);
+        }
+        // List-only skills are still resolved, misspelled or not, when listed one by one
+        for (String phrase : dictionary.listOnly()) {
+            addListedPhrase(phrase, taxonomy.canonicalize(phrase), canonicalNamesByKey, tree);
+        }
+        return new Automaton(matcher, canonicalNames, Map.copyOf(canonicalNamesByKey), tree);
+    }
+
+    private static void addListedPhrase(String phrase, String canonicalName, Map<String, String> canonicalNamesByKey,
+                                        BkTree<String> tree) {
+        String key = SkillTaxonomy.normalize(phrase);
+        if (canonicalNamesByKey.putIfAbsent(key, canonicalName) == null) {
+            tree.add(key, canonicalName);
+        }
+    }
+
+    static Dictionary loadDictionary(Resource dictionary) {
+        List<String> phrases = new ArrayList<>();
+        List<String> listOnly = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    listOnly.add(line.substring(1, line.length() - 1).trim());
+                } else {
+                    phrases.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read skill dictionary " + dictionary.getDescription(), e);
+        }
+        return new Dictionary(List.copyOf(phrases), List.copyOf(listOnly));
+    }
+
+    /** Dictionary skills matched in running text, and the bracketed ones only matched in skill lists. */
+    record Dictionary(List<String> phrases, List<String> listOnly) {
+        int size() {
+            return phrases.size() + listOnly.size();
+        }
+    }
+
+    // The tree is built once and only read afterwards
+    private record Automaton(AhoCorasickMatcher matcher, String[] canonicalNames,
+                             Map<String, String> canonicalNamesByKey, BkTree<String> phrases) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.resume.builder.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maps skill aliases to canonical skills ("k8s" and "Kubernetes" both become "kubernetes").
+ * Names and aliases that are also common words ("go", "node", "spark") are written in brackets and
+ * only apply to explicit skill lists, never to words found in running text.
+ * The taxonomy is an immutable snapshot behind an {@link AtomicReference}; when the taxonomy file
+ * lives on the filesystem it is watched and a rebuilt snapshot is swapped in on change, so readers
+ * never lock. The bundled classpath copy cannot be watched from a packaged jar; point
+ * resume.skills.taxonomy-file at an external file to edit the taxonomy at runtime.
+ */
+@Component
+@Slf4j
+public class SkillTaxonomy {
+
+    private final Resource taxonomyFile;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+
+    public SkillTaxonomy(
+            @Value("${resume.skills.taxonomy-file:classpath:skill-taxonomy.txt}") Resource taxonomyFile,
+            @Value("${resume.skills.taxonomy-watch:true}") boolean watch) throws IOException {
+        this.taxonomyFile = taxonomyFile;
+        this.snapshot.set(load(taxonomyFile));
+        log.info("Loaded {} canonical skills from {}", snapshot.get().names().length, taxonomyFile.getDescription());
+
+        if (watch && taxonomyFile.isFile()) {
+            if (taxonomyFile instanceof ClassPathResource) {
+                log.warn("Watching the build output copy of {}; set resume.skills.taxonomy-file to a file: path "
+                    + "to pick up edits to the source file", taxonomyFile.getDescription());
+            }
+            startWatcher(taxonomyFile.getFile().toPath().toAbsolutePath());
+        } else if (watch) {
+            log.warn("Skill taxonomy {} is not a file on the filesystem, so edits will not be reloaded; "
+                + "set resume.skills.taxonomy-file to a file: path to enable it", taxonomyFile.getDescription());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /** Canonical id for a skill or alias, or -1 when the taxonomy does not know it. */
+    public int canonicalId(String skill) {
+        Integer id = snapshot.get().idsByKey().get(normalize(skill));
+        return id == null ? -1 : id;
+    }
+
+    /** Canonical name for a known skill or alias; unknown skills are returned trimmed and lower-cased. */
+    public String canonicalize(String skill) {
+        Snapshot current = snapshot.get();
+        Integer id = current.idsByKey().get(normalize(skill));
+        return id == null ? skill.trim().toLowerCase() : current.names()[id];
+    }
+
+    /** As {@link #canonicalize}, for a word of running text: aliases only meant for skill lists are left alone. */
+    public String canonicalizeInText(String word) {
+        Snapshot current = snapshot.get();
+        String key = normalize(word);
+        Integer id = current.listOnlyKeys().contains(key) ? null : current.idsByKey().get(key);
+        return id == null ? word.trim().toLowerCase() : current.names()[id];
+    }
+
+    /** Every canonical name and alias, as written in the taxonomy file, except the list-only ones. */
+    public List<String> terms() {
+        return snapshot.get().terms();
+    }
+
+    /** Registers a callback run after each successful reload. */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    void reload() {
+        try {
+            Snapshot reloaded = load(taxonomyFile);
+            snapshot.set(reloaded);
+            log.info("Reloaded skill taxonomy with {} canonical skills", reloaded.names().length);
+            reloadListeners.forEach(Runnable::run);
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the previous snapshot
+            log.error("Could not reload skill taxonomy from {}", taxonomyFile.getDescription(), e);
+        }
+    }
+
+    private void startWatcher(Path file) throws IOException {
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (changed) {
+                        // Let the writer finish and fold the burst of events editors produce
+                        Thread.sleep(200);
+                        WatchKey pending;
+                        while ((pending = watchService.poll()) != null) {
+                            pending.pollEvents();
+                            pending.reset();
+                        }
+                        reload();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ClosedWatchServiceException e) {
+                // Shutting down
+            }
+        }, "skill-taxonomy-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching {} for taxonomy changes", file);
+    }
+
+    static Snapshot load(Resource resource) throws IOException {
+        Map<String, Integer> idsByKey = new HashMap<>();
+        Set<String> listOnlyKeys = new HashSet<>();
+        List<String> names = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                int colon = line.indexOf(':');
+                String canonical = (colon == -1 ? line : line.substring(0, colon)).trim().toLowerCase();
+                boolean listOnlyName = canonical.startsWith("[") && canonical.endsWith("]");
+                if (listOnlyName) {
+                    canonical = canonical.substring(1, canonical.length() - 1).trim();
+                }
+                Integer id = idsByKey.get(normalize(canonical));
+                if (id == null) {
+                    id = names.size();
+                    names.add(canonical);
+                    idsByKey.put(normalize(canonical), id);
+                    if (listOnlyName) {
+                        listOnlyKeys.add(normalize(canonical));
+                    } else {
+                        terms.add(canonical);
+                    }
+                }
+
+                if (colon != -1) {
+                    for (String alias : line.substring(colon + 1).split(",")) {
+                        alias = alias.trim();
+                        boolean listOnly = alias.startsWith("[") && alias.endsWith("]");
+                        if (listOnly) {
+                            alias = alias.substring(1, alias.length() - 1).trim();
+                        }
+                        if (alias.isEmpty()) {
+                            continue;
+                        }
+                        Integer existing = idsByKey.putIfAbsent(normalize(alias), id);
+                        if (existing == null) {
+                            if (listOnly) {
+                                listOnlyKeys.add(normalize(alias));
+                            } else {
+                                terms.add(alias);
+                            }
+                        } else if (!existing.equals(id)) {
+                            log.warn("Skill alias '{}' already maps to '{}', ignoring it for '{}'",
+                                alias, names.get(existing), canonical);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new Snapshot(Map.copyOf(idsByKey), Set.copyOf(listOnlyKeys), names.toArray(new String[0]),
+            List.copyOf(terms));
+    }
+
+    /** Lookup key: lower-cased with whitespace, '-' and '_' removed. */
+    static String normalize(String skill) {
+        StringBuilder key = new StringBuilder(skill.length());
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (!Character.isWhitespace(c) && c != '-' && c != '_') {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    record Snapshot(Map<String, Integer> idsByKey, Set<String> listOnlyKeys, String[] names, List<String> terms) {
+    }
+}
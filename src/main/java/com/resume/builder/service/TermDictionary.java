@@ -0,0 +1,191 @@
+package com.resume.builder.service;
+
+import com.resume.builder.util.KeywordTokenizer;
+import com.resume.builder.util.TermFrequencies;
+import com.resume.builder.util.TermSet;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Process-wide interning of keywords and skills to dense int ids, so keyword sets can be held as
+ * {@link TermSet}s and compared without hashing strings. Ids are stable for the life of the process.
+ *
+ * <p>Terms live in an open-addressed table that can be probed with a {@code char[]} slice, so a
+ * tokenizer can resolve a known term without creating a string. Lookups are lock-free; only new
+ * terms take the lock.
+ */
+@Component
+public class TermDictionary {
+
+    private volatile String[] terms = new String[1024];
+    private volatile Table table = new Table(2048);
+    private int size;
+
+    /** Id of the term, assigning the next free id the first time the term is seen. */
+    public int intern(String term) {
+        int id = find(term);
+        return id != -1 ? id : add(term);
+    }
+
+    /** Id of the term held in {@code chars[0, length)}; a string is only created for a new term. */
+    public int intern(char[] chars, int length) {
+        int id = find(chars, length);
+        return id != -1 ? id : add(new String(chars, 0, length));
+    }
+
+    /** Id of the term, or -1 when it was never interned. */
+    public int find(String term) {
+        Table current = table;
+        int hash = spread(term.hashCode());
+        for (int slot = hash & current.mask; ; slot = (slot + 1) & current.mask) {
+            int entry = current.slots.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            // The slot is set after the term is published, so the re-read array always holds it
+            if (term.equals(terms[entry - 1])) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /** Id of the term held in {@code chars[0, length)}, or -1 when it was never interned. */
+    public int find(char[] chars, int length) {
+        Table current = table;
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        hash = spread(hash);
+        for (int slot = hash & current.mask; ; slot = (slot + 1) & current.mask) {
+            int entry = current.slots.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            if (contentEquals(terms[entry - 1], chars, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    public String term(int id) {
+        return terms[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public TermSet toTermSet(Collection<String> values) {
+        int[] ids = new int[values.size()];
+        int count = 0;
+        for (String value : values) {
+            ids[count++] = intern(value);
+        }
+        return TermSet.of(ids, count);
+    }
+
+    /** Interns every token of the text and returns them as a set. */
+    public TermSet tokenize(String text) {
+        TermCollector collector = new TermCollector();
+        KeywordTokenizer.tokenize(text, collector);
+        return collector.toTermSet();
+    }
+
+    /** Interns every token of the text and counts how often each occurs. */
+    public TermFrequencies countTerms(String text) {
+        TermCollector collector = new TermCollector();
+        KeywordTokenizer.tokenize(text, collector);
+        return collector.toTermFrequencies();
+    }
+
+    private synchronized int add(String term) {
+        int existing = find(term);
+        if (existing != -1) {
+            return existing;
+        }
+
+        int id = size;
+        String[] current = terms;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = term;
+        // Publish the term before any slot refers to it
+        terms = current;
+        size++;
+
+        Table target = table;
+        if (size * 2 > target.slots.length()) {
+            target = new Table(target.slots.length() * 2);
+            for (int i = 0; i < size; i++) {
+                target.insert(spread(current[i].hashCode()), i);
+            }
+            table = target;
+        } else {
+            target.insert(spread(term.hashCode()), id);
+        }
+        return id;
+    }
+
+    // Same hash as String.hashCode, with the high bits folded in for the power-of-two table
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String term, char[] chars, int length) {
+        if (term.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (term.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Slots hold id + 1, with 0 marking an empty slot. */
+    private static final class Table {
+        private final AtomicIntegerArray slots;
+        private final int mask;
+
+        Table(int capacity) {
+            this.slots = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        void insert(int hash, int id) {
+            int slot = hash & mask;
+            while (slots.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots.set(slot, id + 1);
+        }
+    }
+
+    /** Token sink that interns tokens and collects their ids. */
+    public class TermCollector implements KeywordTokenizer.TokenSink {
+        private int[] ids = new int[64];
+        private int count;
+
+        @Override
+        public void accept(char[] token, int length) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = intern(token, length);
+        }
+
+        public TermSet toTermSet() {
+            return TermSet.of(ids, count);
+        }
+
+        public TermFrequencies toTermFrequencies() {
+            return TermFrequencies.of(ids, count);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.resume.builder.service;
+
+import com.resume.builder.dto.UploadJobDTO;
+import com.resume.builder.model.Resume;
+import com.resume.builder.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous resume ingestion. Uploads are spooled to disk and queued; parsing and persisting
+ * run on a dedicated worker pool while clients poll the job or follow it over server-sent events.
+ */
+@Service
+@Slf4j
+public class UploadJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_PARSING = "PARSING";
+    public static final String STATUS_SAVING = "SAVING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final ResumeParserService parserService;
+    private final ResumeFingerprintService fingerprintService;
+    private final ResumeRepository resumeRepository;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final Duration jobRetention;
+    private final long sseTimeoutMillis;
+
+    public UploadJobService(
+            ResumeParserService parserService,
+            ResumeFingerprintService fingerprintService,
+            ResumeRepository resumeRepository,
+            @Value("${resume.upload.async.threads:2}") int threads,
+            @Value("${resume.upload.async.queue-capacity:100}") int queueCapacity,
+            @Value("${resume.upload.async.job-retention-minutes:30}") long jobRetentionMinutes,
+            @Value("${resume.upload.async.sse-timeout-ms:300000}") long sseTimeoutMillis) {
+        this.parserService = parserService;
+        this.fingerprintService = fingerprintService;
+        this.resumeRepository = resumeRepository;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+        this.sseTimeoutMillis = sseTimeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "resume-upload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Queued uploads never run: fail their jobs so pollers and subscribers see the end, and drop their files
+        for (Runnable queued : executor.shutdownNow()) {
+            if (queued instanceof UploadTask task) {
+                task.job.fail("Upload cancelled by shutdown", 0);
+                deleteSpooled(task.spooled);
+            }
+        }
+    }
+
+    /**
+     * Spools the upload and queues it for ingestion.
+     *
+     * @throws RejectedExecutionException when the ingestion queue is full
+     */
+    public UploadJobDTO submit(MultipartFile file) throws IOException {
+        String filename = file.getOriginalFilename();
+        Path spooled = Files.createTempFile("resume-async-", ".tmp");
+        String contentHash;
+        try (InputStream in = file.getInputStream()) {
+            contentHash = fingerprintService.spoolAndFingerprint(in, spooled);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), filename);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(new UploadTask(job, spooled, contentHash));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        log.info("Queued upload job {} for {} (queue depth {})", job.id, filename, getQueueDepth());
+        return job.snapshot(getQueueDepth());
+    }
+
+    public Optional<UploadJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.snapshot(getQueueDepth()));
+    }
+
+    public Optional<SseEmitter> subscribe(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        job.addSubscriber(emitter, getQueueDepth());
+        return Optional.of(emitter);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void process(UploadJob job, Path spooled, String contentHash) {
+        try {
+            Optional<Resume> existing = fingerprintService.findExisting(contentHash);
+            if (existing.isPresent()) {
+                job.complete(existing.get(), getQueueDepth());
+                return;
+            }
+
+            job.update(STATUS_PARSING, 10, getQueueDepth());
+            Resume resume = parserService.parseResume(spooled, job.filename);
+            resume.setContentHash(contentHash);
+
+            job.update(STATUS_SAVING, 70, getQueueDepth());
+            Resume saved = resumeRepository.save(resume);
+            fingerprintService.remember(saved);
+
+            job.complete(saved, getQueueDepth());
+        } catch (Exception e) {
+            log.error("Upload job {} failed", job.id, e);
+            job.fail(e.getMessage(), getQueueDepth());
+        } finally {
+            deleteSpooled(spooled);
+        }
+    }
+
+    private void deleteSpooled(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", spooled, e);
+        }
+    }
+
+    /** Drops finished jobs, with their parsed resumes, once they are past the retention time. */
+    @Scheduled(fixedDelayString = "${resume.upload.async.eviction-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.updatedAt.isBefore(cutoff));
+    }
+
+    /** A queued upload; kept as its own type so shutdown can tell which job and file it belongs to. */
+    private final class UploadTask implements Runnable {
+        private final UploadJob job;
+        private final Path spooled;
+        private final String contentHash;
+
+        UploadTask(UploadJob job, Path spooled, String contentHash) {
+            this.job = job;
+            this.spooled = spooled;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public void run() {
+            process(job, spooled, contentHash);
+        }
+    }
+
+    private static class UploadJob {
+        private final String id;
+        private final String filename;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private String status = STATUS_QUEUED;
+        private int progress;
+        private Resume resume;
+        private String error;
+        private LocalDateTime updatedAt = createdAt;
+
+        UploadJob(String id, String filename) {
+            this.id = id;
+            this.filename = filename;
+        }
+
+        synchronized boolean isFinished() {
+            return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+        }
+
+        synchronized UploadJobDTO snapshot(int queueDepth) {
+            return new UploadJobDTO(id, filename, status, progress, resume != null ? resume.getId() : null,
+                error, queueDepth, createdAt, updatedAt, resume);
+        }
+
+        void update(String status, int progress, int queueDepth) {
+            synchronized (this) {
+                this.status = status;
+                this.progress = progress;
+                this.updatedAt = LocalDateTime.now();
+            }
+            publish("progress", queueDepth);
+        }
+
+        void complete(Resume resume, int queueDepth) {
+            synchronized (this) {
+                this.resume = resume;
+                this.status = STATUS_COMPLETED;
+                this.progress = 100;
+                this.updatedAt = LocalDateTime.now();
+            }
+            publish("completed", queueDepth);
+        }
+
+        void fail(String error, int queueDepth) {
+            synchronized (this) {
+                this.error = error;
+                this.status = STATUS_FAILED;
+                this.updatedAt = LocalDateTime.now();
+            }
+            publish("failed", queueDepth);
+        }
+
+        void addSubscriber(SseEmitter emitter, int queueDepth) {
+            emitter.onCompletion(() -> subscribers.remove(emitter));
+            emitter.onTimeout(() -> subscribers.remove(emitter));
+            subscribers.add(emitter);
+
+            // Replay the current state; a job that already finished closes the stream right away
+            UploadJobDTO current = snapshot(queueDepth);
+            String eventName = STATUS_COMPLETED.equals(current.getStatus()) ? "completed"
+                : STATUS_FAILED.equals(current.getStatus()) ? "failed" : "progress";
+            send(emitter, eventName, current);
+        }
+
+        private void publish(String eventName, int queueDepth) {
+            UploadJobDTO current = snapshot(queueDepth);
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, eventName, current);
+            }
+        }
+
+        private void send(SseEmitter emitter, String eventName, UploadJobDTO current) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(current));
+                if (!"progress".equals(eventName)) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
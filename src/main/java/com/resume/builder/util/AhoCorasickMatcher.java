@@ -0,0 +1,234 @@
+package com.resume.builder.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a fixed set of phrases. Matching is case-insensitive,
+ * treats any run of whitespace as a single space, and only reports hits that do not split a word:
+ * a phrase that starts or ends with a letter or digit must not be glued to another letter or digit,
+ * either directly or through a dot.
+ * A scan is a single pass over the text regardless of the number of phrases.
+ */
+public final class AhoCorasickMatcher {
+
+    /** Receives every hit as the phrase index and the [start, end) offsets in the scanned text. */
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int phraseIndex, int start, int end);
+    }
+
+    private final String[] phrases;
+    private final int[] phraseLengths;
+    private final int maxPhraseLength;
+
+    // Per node: sorted outgoing edge labels and their targets
+    private final char[][] edgeLabels;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Phrase ending at the node, or -1; next node on the failure chain that ends a phrase, or 0
+    private final int[] output;
+    private final int[] outputLink;
+
+    private AhoCorasickMatcher(String[] phrases, List<TreeMap<Character, Integer>> trie, int[] output) {
+        this.phrases = phrases;
+        this.phraseLengths = new int[phrases.length];
+        int maxLength = 1;
+        for (int i = 0; i < phrases.length; i++) {
+            phraseLengths[i] = phrases[i].length();
+            maxLength = Math.max(maxLength, phraseLengths[i]);
+        }
+        this.maxPhraseLength = maxLength;
+
+        int nodes = trie.size();
+        this.edgeLabels = new char[nodes][];
+        this.edgeTargets = new int[nodes][];
+        for (int node = 0; node < nodes; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            edgeLabels[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeLabels[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+        this.output = output;
+        this.failure = new int[nodes];
+        this.outputLink = new int[nodes];
+        buildFailureLinks();
+    }
+
+    /**
+     * Builds a matcher for the given phrases. Phrases are lower-cased and whitespace-collapsed;
+     * blank and duplicate phrases are dropped.
+     */
+    public static AhoCorasickMatcher build(Collection<String> phrases) {
+        Map<String, Integer> unique = new LinkedHashMap<>();
+        for (String phrase : phrases) {
+            String normalized = normalize(phrase);
+            if (!normalized.isEmpty()) {
+                unique.putIfAbsent(normalized, unique.size());
+            }
+        }
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Integer> outputs = new ArrayList<>();
+        outputs.add(-1);
+
+        for (Map.Entry<String, Integer> phrase : unique.entrySet()) {
+            int node = 0;
+            String text = phrase.getKey();
+            for (int i = 0; i < text.length(); i++) {
+                Integer next = trie.get(node).get(text.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    outputs.add(-1);
+                    trie.get(node).put(text.charAt(i), next);
+                }
+                node = next;
+            }
+            outputs.set(node, phrase.getValue());
+        }
+
+        int[] output = outputs.stream().mapToInt(Integer::intValue).toArray();
+        return new AhoCorasickMatcher(unique.keySet().toArray(new String[0]), trie, output);
+    }
+
+    private void buildFailureLinks() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            failure[child] = 0;
+            outputLink[child] = 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeLabels[node].length; i++) {
+                char label = edgeLabels[node][i];
+                int child = edgeTargets[node][i];
+
+                int fallback = failure[node];
+                int target;
+                while ((target = transition(fallback, label)) == -1 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = target == -1 ? 0 : target;
+                outputLink[child] = output[failure[child]] >= 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeLabels[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    public int size() {
+        return phrases.length;
+    }
+
+    /** Normalized phrase for an index reported to a {@link MatchListener}. */
+    public String phrase(int phraseIndex) {
+        return phrases[phraseIndex];
+    }
+
+    /** Reports every whole-word hit, including overlapping ones, in order of their end offset. */
+    public void scan(CharSequence text, MatchListener listener) {
+        // Offsets of the most recent characters fed to the automaton, to map hits back to the text
+        int[] fedOffsets = new int[maxPhraseLength];
+        int fed = 0;
+        int state = 0;
+        boolean lastWasSpace = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (lastWasSpace) {
+                    continue;
+                }
+                c = ' ';
+                lastWasSpace = true;
+            } else {
+                c = Character.toLowerCase(c);
+                lastWasSpace = false;
+            }
+
+            fedOffsets[fed % maxPhraseLength] = i;
+            fed++;
+
+            int next;
+            while ((next = transition(state, c)) == -1 && state != 0) {
+                state = failure[state];
+            }
+            state = next == -1 ? 0 : next;
+
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node != 0; node = outputLink[node]) {
+                int phraseIndex = output[node];
+                int start = fedOffsets[(fed - phraseLengths[phraseIndex]) % maxPhraseLength];
+                if (isWholeWord(text, phraseIndex, start, i + 1)) {
+                    listener.onMatch(phraseIndex, start, i + 1);
+                }
+            }
+        }
+    }
+
+    private boolean isWholeWord(CharSequence text, int phraseIndex, int start, int end) {
+        String phrase = phrases[phraseIndex];
+        if (isWordChar(phrase.charAt(0)) && gluedBefore(text, start)) {
+            return false;
+        }
+        return !isWordChar(phrase.charAt(phrase.length() - 1)) || !gluedAfter(text, end);
+    }
+
+    // A dot between word characters joins them, so "js" is not a hit inside "node.js"
+    private static boolean gluedBefore(CharSequence text, int start) {
+        if (start == 0) {
+            return false;
+        }
+        char previous = text.charAt(start - 1);
+        return isWordChar(previous) || (previous == '.' && start > 1 && isWordChar(text.charAt(start - 2)));
+    }
+
+    private static boolean gluedAfter(CharSequence text, int end) {
+        if (end >= text.length()) {
+            return false;
+        }
+        char next = text.charAt(end);
+        return isWordChar(next) || (next == '.' && end + 1 < text.length() && isWordChar(text.charAt(end + 1)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /** Lower-cases and trims the phrase and collapses inner whitespace to single spaces. */
+    public static String normalize(String phrase) {
+        StringBuilder normalized = new StringBuilder(phrase.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
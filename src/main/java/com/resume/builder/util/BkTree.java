@@ -0,0 +1,94 @@
+package com.resume.builder.util;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree of strings under Levenshtein distance, for finding every key within a few
+ * edits of a query. Each child hangs off its parent by their distance, so by the triangle
+ * inequality a search for keys within {@code d} of the query only descends into children whose
+ * edge is within {@code d} of the parent's own distance; a small bound visits a few nodes of the
+ * tree. Not thread-safe for writes; build it once, then share it read-only.
+ */
+public final class BkTree<V> {
+
+    /** A stored key, its value and its edit distance to the query. */
+    public record Match<V>(String key, V value, int distance) {
+    }
+
+    private static final LevenshteinDistance LEVENSHTEIN = LevenshteinDistance.getDefaultInstance();
+
+    private Node<V> root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /** Stores the key with its value; a key already stored keeps its first value. */
+    public boolean add(String key, V value) {
+        if (root == null) {
+            root = new Node<>(key, value);
+            size++;
+            return true;
+        }
+
+        Node<V> node = root;
+        while (true) {
+            int distance = LEVENSHTEIN.apply(key, node.key);
+            if (distance == 0) {
+                return false;
+            }
+            Node<V> child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node<>(key, value));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /** Stored keys within {@code maxDistance} edits of the query, closest first. */
+    public List<Match<V>> search(String query, int maxDistance) {
+        List<Match<V>> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        Deque<Node<V>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<V> node = pending.pop();
+            int distance = LEVENSHTEIN.apply(query, node.key);
+            if (distance <= maxDistance) {
+                matches.add(new Match<>(node.key, node.value, distance));
+            }
+            for (Map.Entry<Integer, Node<V>> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance));
+        return matches;
+    }
+
+    private static final class Node<V> {
+        private final String key;
+        private final V value;
+        private final Map<Integer, Node<V>> children = new HashMap<>(4);
+
+        Node(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
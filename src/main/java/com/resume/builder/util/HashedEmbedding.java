@@ -0,0 +1,123 @@
+package com.resume.builder.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense text vectors built by feature hashing, computed in-process without a model: every keyword
+ * and each of its character trigrams is hashed to a signed slot of a fixed-size vector, weighted
+ * by the keyword's sublinear frequency. Texts sharing words or word stems ("service", "services")
+ * end up close in cosine similarity.
+ *
+ * <p>A document's vector is the normalized sum of its sections' raw vectors, so one section can be
+ * replaced by subtracting its old raw vector and adding the new one.
+ */
+public final class HashedEmbedding {
+
+    private static final int WORD_SEED = 0x2545F491;
+    private static final int TRIGRAM_SEED = 0x6C078965;
+
+    private final int dimensions;
+
+    public HashedEmbedding(int dimensions) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("Embedding dimensions must be positive: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /** Unit-length vector of the sections taken together; all zeros when they have no keywords. */
+    public float[] embed(String... sections) {
+        float[] sum = new float[dimensions];
+        for (String section : sections) {
+            float[] raw = section(section);
+            for (int i = 0; i < dimensions; i++) {
+                sum[i] += raw[i];
+            }
+        }
+        return normalize(sum);
+    }
+
+    /** Unnormalized vector of one section. */
+    public float[] section(String text) {
+        float[] raw = new float[dimensions];
+        if (text == null || text.isEmpty()) {
+            return raw;
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        KeywordTokenizer.tokenize(text, (token, length) -> counts.merge(new String(token, 0, length), 1, Integer::sum));
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            addTerm(raw, entry.getKey(), (float) (1 + Math.log(entry.getValue())));
+        }
+        return raw;
+    }
+
+    // The word itself carries unit weight; its trigrams, padded with word boundaries, share another unit
+    private void addTerm(float[] raw, String term, float weight) {
+        add(raw, hash(WORD_SEED, term, 0, term.length()), weight);
+
+        String padded = "<" + term + ">";
+        int trigrams = padded.length() - 2;
+        float trigramWeight = (float) (weight / Math.sqrt(trigrams));
+        for (int i = 0; i < trigrams; i++) {
+            add(raw, hash(TRIGRAM_SEED, padded, i, i + 3), trigramWeight);
+        }
+    }
+
+    private void add(float[] raw, int hash, float weight) {
+        // Slot from the low bits, sign from a remixed high bit, so collisions tend to cancel out
+        raw[Math.floorMod(hash, dimensions)] += (hash * 0x9E3779B9) < 0 ? -weight : weight;
+    }
+
+    // FNV-1a over the UTF-16 chars; stable across processes, so stored vectors stay comparable
+    private static int hash(int seed, String text, int from, int to) {
+        int hash = 0x811C9DC5 ^ seed;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    /** Copy of the vector scaled to unit length, or all zeros for a zero vector. */
+    public static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] unit = new float[vector.length];
+        if (norm == 0.0) {
+            return unit;
+        }
+        double scale = 1.0 / Math.sqrt(norm);
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = (float) (vector[i] * scale);
+        }
+        return unit;
+    }
+
+    /** Dot product; the cosine similarity of two unit-length vectors. */
+    public static double dot(float[] a, float[] b) {
+        // Four independent sums keep the loop from waiting on each addition
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (; i + 3 < a.length; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (double) s0 + s1 + s2 + s3;
+    }
+}
@@ -0,0 +1,296 @@
+package com.resume.builder.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest-neighbour search by cosine
+ * similarity over unit-length vectors. Each vector links to its closest, mutually diverse
+ * neighbours on its own layer and every layer below it; a search descends greedily from the
+ * sparse top layer and widens to a beam of {@code ef} candidates on the bottom one.
+ *
+ * <p>Removed vectors stay in the graph as routing nodes and are only left out of results; once
+ * they outnumber the live ones the graph is rebuilt. Not thread-safe; callers guard it.
+ */
+public final class HnswIndex {
+
+    /** A stored id and its similarity to the query. */
+    public record Neighbor(long id, double similarity) {
+    }
+
+    private static final Comparator<Candidate> CLOSEST_FIRST =
+        Comparator.comparingDouble(Candidate::similarity).reversed();
+    private static final Comparator<Candidate> FARTHEST_FIRST = Comparator.comparingDouble(Candidate::similarity);
+
+    // Below this many removed nodes the graph is never rebuilt
+    private static final int MIN_REBUILD_DELETED = 64;
+
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random = new Random(42);
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int deleted;
+
+    /**
+     * @param m              links per node on the upper layers; the bottom layer keeps twice as many
+     * @param efConstruction beam width used to find the neighbours of an inserted vector
+     */
+    public HnswIndex(int m, int efConstruction) {
+        if (m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("HNSW needs m >= 2 and efConstruction >= 1");
+        }
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+    }
+
+    /** Number of live vectors. */
+    public int size() {
+        return positions.size();
+    }
+
+    public void clear() {
+        nodes.clear();
+        positions.clear();
+        entryPoint = -1;
+        topLevel = -1;
+        deleted = 0;
+    }
+
+    /** Adds the vector under the id, replacing the id's previous vector. */
+    public void add(long id, float[] vector) {
+        remove(id);
+        insert(id, vector);
+    }
+
+    public boolean remove(long id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return false;
+        }
+        nodes.get(position).deleted = true;
+        deleted++;
+        if (deleted >= MIN_REBUILD_DELETED && deleted > positions.size()) {
+            rebuild();
+        }
+        return true;
+    }
+
+    /** Up to {@code k} live vectors most similar to the query, most similar first. */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        List<Neighbor> results = new ArrayList<>(k);
+        if (entryPoint < 0 || k < 1) {
+            return results;
+        }
+
+        int closest = entryPoint;
+        for (int level = topLevel; level > 0; level--) {
+            closest = greedyClosest(query, closest, level);
+        }
+        for (Candidate candidate : searchLayer(query, closest, Math.max(ef, k), 0)) {
+            Node node = nodes.get(candidate.node());
+            if (!node.deleted) {
+                results.add(new Neighbor(node.id, candidate.similarity()));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private void insert(long id, float[] vector) {
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        int position = nodes.size();
+        Node node = new Node(id, vector, level, m);
+        nodes.add(node);
+        positions.put(id, position);
+        if (entryPoint < 0) {
+            entryPoint = position;
+            topLevel = level;
+            return;
+        }
+
+        int closest = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            closest = greedyClosest(vector, closest, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(vector, closest, efConstruction, l);
+            List<Candidate> selected = selectNeighbors(found, m);
+            for (Candidate neighbor : selected) {
+                node.link(l, neighbor.node(), neighbor.similarity());
+                connect(neighbor.node(), position, neighbor.similarity(), l);
+            }
+            closest = found.get(0).node();
+        }
+        if (level > topLevel) {
+            entryPoint = position;
+            topLevel = level;
+        }
+    }
+
+    /**
+     * Adds a back link. A neighbour with no room left drops its least similar link instead, if the
+     * new one is closer; re-running the neighbour heuristic here would dominate insertion time.
+     */
+    private void connect(int from, int to, double similarity, int level) {
+        Node node = nodes.get(from);
+        if (node.linkCount[level] < node.links[level].length) {
+            node.link(level, to, similarity);
+            return;
+        }
+
+        int weakest = 0;
+        for (int i = 1; i < node.linkCount[level]; i++) {
+            if (node.similarities[level][i] < node.similarities[level][weakest]) {
+                weakest = i;
+            }
+        }
+        if (similarity > node.similarities[level][weakest]) {
+            node.links[level][weakest] = to;
+            node.similarities[level][weakest] = (float) similarity;
+        }
+    }
+
+    /**
+     * Picks up to {@code count} of the candidates, closest first, skipping one that is closer to an
+     * already picked neighbour than to the query, so links spread in different directions. Skipped
+     * candidates fill any remaining places.
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> closestFirst, int count) {
+        List<Candidate> selected = new ArrayList<>(count);
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate candidate : closestFirst) {
+            if (selected.size() == count) {
+                break;
+            }
+            float[] vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (Candidate picked : selected) {
+                if (HashedEmbedding.dot(vector, nodes.get(picked.node()).vector) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : skipped).add(candidate);
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < count; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        double best = HashedEmbedding.dot(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int linked = node.links[level][i];
+                double similarity = HashedEmbedding.dot(query, nodes.get(linked).vector);
+                if (similarity > best) {
+                    best = similarity;
+                    current = linked;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Beam search on one layer; returns up to {@code ef} nodes, closest first. */
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        visited.set(start);
+        Candidate first = new Candidate(start, HashedEmbedding.dot(query, nodes.get(start).vector));
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(FARTHEST_FIRST);
+        frontier.add(first);
+        best.add(first);
+
+        while (!frontier.isEmpty()) {
+            Candidate current = frontier.poll();
+            if (best.size() >= ef && current.similarity() < best.peek().similarity()) {
+                break;
+            }
+            Node node = nodes.get(current.node());
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int linked = node.links[level][i];
+                if (visited.get(linked)) {
+                    continue;
+                }
+                visited.set(linked);
+                double similarity = HashedEmbedding.dot(query, nodes.get(linked).vector);
+                if (best.size() < ef || similarity > best.peek().similarity()) {
+                    Candidate candidate = new Candidate(linked, similarity);
+                    frontier.add(candidate);
+                    best.add(candidate);
+                    if (best.size() > ef) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(CLOSEST_FIRST);
+        return result;
+    }
+
+    private void rebuild() {
+        List<Node> live = new ArrayList<>(positions.size());
+        for (Node node : nodes) {
+            if (!node.deleted) {
+                live.add(node);
+            }
+        }
+        clear();
+        for (Node node : live) {
+            insert(node.id, node.vector);
+        }
+    }
+
+    private record Candidate(int node, double similarity) {
+    }
+
+    private static final class Node {
+        private final long id;
+        private final float[] vector;
+        // Per layer, the positions of the linked nodes, their similarity to this one and how many are in use
+        private final int[][] links;
+        private final float[][] similarities;
+        private final int[] linkCount;
+        private boolean deleted;
+
+        Node(long id, float[] vector, int level, int m) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.similarities = new float[level + 1][];
+            this.linkCount = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? 2 * m : m];
+                similarities[l] = new float[links[l].length];
+            }
+        }
+
+        void link(int level, int node, double similarity) {
+            similarities[level][linkCount[level]] = (float) similarity;
+            links[level][linkCount[level]++] = node;
+        }
+    }
+}
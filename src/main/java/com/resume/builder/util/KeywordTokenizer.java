@@ -0,0 +1,84 @@
+package com.resume.builder.util;
+
+import java.util.Arrays;
+
+/**
+ * Splits text into lower-cased keywords in one pass over its characters. Tokens are separated by
+ * whitespace and {@code , ; . ( ) [ ] { }}; tokens of two characters or fewer and stop words are
+ * dropped before they ever become strings. Accepted tokens are handed to a {@link TokenSink} in a
+ * shared buffer.
+ */
+public final class KeywordTokenizer {
+
+    /** Receives each accepted token; the buffer is reused and only valid during the call. */
+    @FunctionalInterface
+    public interface TokenSink {
+        void accept(char[] token, int length);
+    }
+
+    private static final int MIN_LENGTH = 3;
+
+    // Stop words long enough to pass the length filter
+    private static final char[][] STOP_WORDS = {
+        "and".toCharArray(), "are".toCharArray(), "for".toCharArray(), "from".toCharArray(),
+        "has".toCharArray(), "its".toCharArray(), "that".toCharArray(), "the".toCharArray(),
+        "was".toCharArray(), "will".toCharArray(), "with".toCharArray(), "this".toCharArray(),
+        "but".toCharArray(), "they".toCharArray(), "have".toCharArray()
+    };
+
+    private KeywordTokenizer() {
+    }
+
+    public static void tokenize(CharSequence text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        char[] buffer = new char[32];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isDelimiter(c)) {
+                emit(buffer, length, sink);
+                length = 0;
+            } else {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, length * 2);
+                }
+                buffer[length++] = Character.toLowerCase(c);
+            }
+        }
+        emit(buffer, length, sink);
+    }
+
+    private static void emit(char[] buffer, int length, TokenSink sink) {
+        // Control characters that are not delimiters are trimmed from the ends, as String.trim would
+        int start = 0;
+        while (start < length && buffer[start] <= ' ') start++;
+        while (length > start && buffer[length - 1] <= ' ') length--;
+        if (length - start < MIN_LENGTH || isStopWord(buffer, start, length)) {
+            return;
+        }
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, length - start);
+        }
+        sink.accept(buffer, length - start);
+    }
+
+    private static boolean isStopWord(char[] buffer, int start, int end) {
+        int length = end - start;
+        for (char[] stopWord : STOP_WORDS) {
+            if (stopWord.length == length && Arrays.equals(stopWord, 0, length, buffer, start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whitespace as in the regex \s class, plus the punctuation keywords are split on
+    private static boolean isDelimiter(char c) {
+        return switch (c) {
+            case ' ', '\t', '\n', 0x0B, '\f', '\r', ',', ';', '.', '(', ')', '[', ']', '{', '}' -> true;
+            default -> false;
+        };
+    }
+}
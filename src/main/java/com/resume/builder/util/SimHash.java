@@ -0,0 +1,70 @@
+package com.resume.builder.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 64-bit SimHash fingerprints: every shingle of two consecutive keywords votes on each bit of the
+ * fingerprint with the bits of its own hash, weighted by its sublinear frequency. Documents sharing
+ * most of their shingles get fingerprints that differ in few bits, so near-duplicates are found by
+ * Hamming distance. Shingles rather than single keywords keep words common to every document from
+ * pulling all fingerprints the same way.
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    /**
+     * Fingerprint of the text; 0 when it has no keywords. A text with a single keyword is
+     * fingerprinted by that keyword. Shingles are hashed by their text, so stored fingerprints stay
+     * comparable across processes.
+     */
+    public static long of(String text) {
+        Map<String, Integer> shingles = new HashMap<>();
+        String[] previous = new String[1];
+        KeywordTokenizer.tokenize(text, (token, length) -> {
+            String keyword = new String(token, 0, length);
+            if (previous[0] != null) {
+                shingles.merge(previous[0] + ' ' + keyword, 1, Integer::sum);
+            }
+            previous[0] = keyword;
+        });
+        if (shingles.isEmpty()) {
+            return previous[0] == null ? 0L : hash(previous[0]);
+        }
+
+        double[] votes = new double[Long.SIZE];
+        for (Map.Entry<String, Integer> shingle : shingles.entrySet()) {
+            long hash = hash(shingle.getKey());
+            double weight = 1 + Math.log(shingle.getValue());
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                votes[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // FNV-1a over the UTF-16 chars, then a SplitMix64 finalizer so every output bit depends on every char
+    private static long hash(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,145 @@
+package com.resume.builder.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds stored 64-bit SimHash fingerprints within a small Hamming distance of a query. The bits are
+ * cut into one more band than the largest distance allowed, and each band is a hash table from the
+ * band's bits to the ids having them: two fingerprints that differ in at most that many bits agree
+ * on at least one whole band, so a lookup only compares the few ids sharing a band with the query.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class SimHashIndex {
+
+    /** A stored id and the Hamming distance of its fingerprint to the query. */
+    public record Match(long id, int distance) {
+    }
+
+    private static final Comparator<Match> CLOSEST_FIRST =
+        Comparator.comparingInt(Match::distance).thenComparingLong(Match::id);
+
+    private final int maxDistance;
+    private final int[] shifts;
+    private final long[] masks;
+    private final List<Map<Long, Bucket>> bands;
+    private final Map<Long, Long> fingerprints = new HashMap<>();
+
+    /** @param maxDistance largest Hamming distance reported, from 0 to 15 */
+    public SimHashIndex(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 15) {
+            throw new IllegalArgumentException("SimHash distance must be between 0 and 15: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        int count = maxDistance + 1;
+        this.shifts = new int[count];
+        this.masks = new long[count];
+        this.bands = new ArrayList<>(count);
+        // Bands as even as 64 bits allow; the first ones take the remainder
+        int shift = 0;
+        for (int band = 0; band < count; band++) {
+            int width = Long.SIZE / count + (band < Long.SIZE % count ? 1 : 0);
+            shifts[band] = shift;
+            masks[band] = width == Long.SIZE ? -1L : (1L << width) - 1;
+            bands.add(new HashMap<>());
+            shift += width;
+        }
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /** The stored fingerprint of the id, or null. */
+    public Long get(long id) {
+        return fingerprints.get(id);
+    }
+
+    /** Stores the fingerprint under the id, replacing the id's previous one. */
+    public void add(long id, long fingerprint) {
+        remove(id);
+        fingerprints.put(id, fingerprint);
+        for (int band = 0; band < bands.size(); band++) {
+            bands.get(band).computeIfAbsent(key(fingerprint, band), key -> new Bucket()).add(id, fingerprint);
+        }
+    }
+
+    public boolean remove(long id) {
+        Long fingerprint = fingerprints.remove(id);
+        if (fingerprint == null) {
+            return false;
+        }
+        for (int band = 0; band < bands.size(); band++) {
+            Map<Long, Bucket> table = bands.get(band);
+            long key = key(fingerprint, band);
+            Bucket bucket = table.get(key);
+            if (bucket.remove(id) && bucket.size == 0) {
+                table.remove(key);
+            }
+        }
+        return true;
+    }
+
+    /** Stored ids within the maximum distance of the fingerprint, closest first. */
+    public List<Match> search(long fingerprint) {
+        List<Match> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int band = 0; band < bands.size(); band++) {
+            Bucket bucket = bands.get(band).get(key(fingerprint, band));
+            if (bucket == null) {
+                continue;
+            }
+            // A close id shares several bands; only those are checked for repeats
+            for (int i = 0; i < bucket.size; i++) {
+                int distance = SimHash.distance(fingerprint, bucket.fingerprints[i]);
+                if (distance <= maxDistance && seen.add(bucket.ids[i])) {
+                    matches.add(new Match(bucket.ids[i], distance));
+                }
+            }
+        }
+        matches.sort(CLOSEST_FIRST);
+        return matches;
+    }
+
+    private long key(long fingerprint, int band) {
+        return (fingerprint >>> shifts[band]) & masks[band];
+    }
+
+    /** Ids sharing one band value, with their fingerprints so candidates are compared in place. */
+    private static final class Bucket {
+        private long[] ids = new long[2];
+        private long[] fingerprints = new long[2];
+        private int size;
+
+        void add(long id, long fingerprint) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fingerprints = Arrays.copyOf(fingerprints, size * 2);
+            }
+            ids[size] = id;
+            fingerprints[size++] = fingerprint;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    fingerprints[i] = fingerprints[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.resume.builder.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable term-frequency vector: distinct term ids in ascending order with their occurrence
+ * counts, plus the total number of tokens the counts were taken from.
+ */
+public final class TermFrequencies {
+
+    public static final TermFrequencies EMPTY = new TermFrequencies(new int[0], new int[0], 0);
+
+    private final int[] ids;
+    private final int[] counts;
+    private final int totalCount;
+
+    private TermFrequencies(int[] ids, int[] counts, int totalCount) {
+        this.ids = ids;
+        this.counts = counts;
+        this.totalCount = totalCount;
+    }
+
+    /** Counts the first {@code length} ids of the array, which is left untouched. */
+    public static TermFrequencies of(int[] ids, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = Arrays.copyOf(ids, length);
+        Arrays.sort(sorted);
+        int[] distinct = new int[length];
+        int[] counts = new int[length];
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            if (unique > 0 && distinct[unique - 1] == sorted[i]) {
+                counts[unique - 1]++;
+            } else {
+                distinct[unique] = sorted[i];
+                counts[unique] = 1;
+                unique++;
+            }
+        }
+        return new TermFrequencies(Arrays.copyOf(distinct, unique), Arrays.copyOf(counts, unique), length);
+    }
+
+    /** Builds a vector from distinct term ids and their counts, given in any order. */
+    public static TermFrequencies ofCounts(int[] ids, int[] counts, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        // Sort (id, count) pairs by id, packed into longs so ids stay attached to their counts
+        long[] pairs = new long[length];
+        for (int i = 0; i < length; i++) {
+            pairs[i] = ((long) ids[i] << 32) | (counts[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(pairs);
+        int[] sortedIds = new int[length];
+        int[] sortedCounts = new int[length];
+        int total = 0;
+        for (int i = 0; i < length; i++) {
+            sortedIds[i] = (int) (pairs[i] >>> 32);
+            sortedCounts[i] = (int) pairs[i];
+            total += sortedCounts[i];
+        }
+        return new TermFrequencies(sortedIds, sortedCounts, total);
+    }
+
+    /** Number of distinct terms. */
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /** Term id at the given position in ascending order. */
+    public int id(int index) {
+        return ids[index];
+    }
+
+    /** Count of the term at the given position. */
+    public int count(int index) {
+        return counts[index];
+    }
+
+    /** Occurrences of the term, or 0 when absent. */
+    public int frequency(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? counts[index] : 0;
+    }
+
+    /** Total number of tokens, counting repeats. */
+    public int totalCount() {
+        return totalCount;
+    }
+
+    /** The distinct terms as a set. */
+    public TermSet terms() {
+        return TermSet.of(ids, ids.length);
+    }
+}
@@ -0,0 +1,85 @@
+package com.resume.builder.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of term ids stored as a sorted, duplicate-free {@code int[]}.
+ * Intersections and Jaccard similarity are computed by merging two sorted arrays without allocating.
+ */
+public final class TermSet {
+
+    public static final TermSet EMPTY = new TermSet(new int[0]);
+
+    private final int[] ids;
+
+    private TermSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    /** Builds a set from the first {@code length} ids of the array, which is left untouched. */
+    public static TermSet of(int[] ids, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = Arrays.copyOf(ids, length);
+        Arrays.sort(sorted);
+        int unique = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return new TermSet(unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /** Id at the given position in ascending order. */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /** Position of the id in ascending order, or a negative value when absent. */
+    public int indexOf(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    public int intersectionSize(TermSet other) {
+        int[] a = ids;
+        int[] b = other.ids;
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /** |A ∩ B| / |A ∪ B|, or 0 when either set is empty. */
+    public double jaccard(TermSet other) {
+        if (isEmpty() || other.isEmpty()) {
+            return 0.0;
+        }
+        int common = intersectionSize(other);
+        return (double) common / (ids.length + other.ids.length - common);
+    }
+}
@@ -0,0 +1,182 @@
+package com.resume.builder.service;
+
+import com.resume.builder.repository.JobDescriptionRepository;
+import com.resume.builder.repository.ResumeRepository;
+import com.resume.builder.util.HashedEmbedding;
+import com.resume.builder.util.TermFrequencies;
+import com.resume.builder.util.TermSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that MaxScore retrieval returns exactly the hits of scoring every resume, on a generated
+ * corpus whose resumes are saved, replaced and deleted between queries.
+ */
+class ResumeIndexTest {
+
+    private static final int SKILLS = 40;
+    private static final int KEYWORDS = 400;
+    private static final int TOPICS = 6;
+    private static final int DIMENSIONS = 32;
+
+    private static final Comparator<ResumeIndex.Hit> RANKING =
+        Comparator.comparingDouble(ResumeIndex.Hit::score).reversed().thenComparingLong(ResumeIndex.Hit::resumeId);
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(7);
+    private final Map<Long, MatchFeaturesService.Features> corpus = new TreeMap<>();
+    private final float[][] topics = new float[TOPICS][];
+    private TermDictionary termDictionary;
+    private CorpusStatistics corpusStatistics;
+    private MatchingService matchingService;
+    private ResumeIndex index;
+    private long version;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        termDictionary = new TermDictionary();
+        corpusStatistics = new CorpusStatistics(termDictionary, mock(ResumeRepository.class),
+            mock(JobDescriptionRepository.class), tempDir.resolve("corpus-stats.snapshot"));
+        MatchFeaturesService matchFeaturesService = mock(MatchFeaturesService.class);
+        when(matchFeaturesService.loadAllResumes()).thenAnswer(invocation -> new HashMap<>(corpus));
+        matchingService = new MatchingService(termDictionary, corpusStatistics, matchFeaturesService, 0.5);
+        index = new ResumeIndex(matchFeaturesService, matchingService, 16, 64, 16);
+
+        for (int t = 0; t < TOPICS; t++) {
+            topics[t] = randomVector();
+        }
+        for (long resumeId = 1; resumeId <= 300; resumeId++) {
+            MatchFeaturesService.Features features = features(20 + random.nextInt(180), 2 + random.nextInt(10));
+            corpus.put(resumeId, features);
+            record(resumeId, features);
+        }
+        index.rebuild();
+        awaitSemanticIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void topKMatchesExhaustiveRankingAcrossSavesAndDeletes() {
+        long nextId = corpus.size() + 1;
+        int scored = 0;
+        int indexed = 0;
+        for (int round = 0; round < 20; round++) {
+            for (int query = 0; query < 5; query++) {
+                MatchFeaturesService.Features jd = features(10 + random.nextInt(40), 1 + random.nextInt(8));
+                int k = 1 + random.nextInt(20);
+                ResumeIndex.TopK topK = index.topK(jd, k);
+                assertThat(topK.hits()).as("round %d, k = %d", round, k).isEqualTo(exhaustive(jd, k));
+                scored += topK.scored();
+                indexed += corpus.size();
+            }
+
+            List<Long> resumeIds = new ArrayList<>(corpus.keySet());
+            for (int i = 0; i < 10; i++) {
+                save(nextId++);
+                save(resumeIds.get(random.nextInt(resumeIds.size())));
+                delete(resumeIds.get(random.nextInt(resumeIds.size())));
+            }
+            assertThat(index.size()).isEqualTo(corpus.size());
+        }
+        // Pruning has to skip resumes, or the test would pass for a full scan
+        assertThat(scored).isLessThan(indexed);
+    }
+
+    @Test
+    void topKLargerThanCorpusReturnsEveryResume() {
+        MatchFeaturesService.Features jd = features(30, 5);
+        ResumeIndex.TopK topK = index.topK(jd, corpus.size() + 10);
+        assertThat(topK.hits()).hasSize(corpus.size()).isEqualTo(exhaustive(jd, corpus.size()));
+    }
+
+    private List<ResumeIndex.Hit> exhaustive(MatchFeaturesService.Features jd, int k) {
+        List<ResumeIndex.Hit> hits = new ArrayList<>();
+        corpus.forEach((resumeId, resume) ->
+            hits.add(new ResumeIndex.Hit(resumeId, matchingService.overallScore(resume, jd))));
+        hits.sort(RANKING);
+        return hits.subList(0, Math.min(k, hits.size()));
+    }
+
+    private void save(long resumeId) {
+        MatchFeaturesService.Features features = features(20 + random.nextInt(180), 2 + random.nextInt(10));
+        corpus.put(resumeId, features);
+        record(resumeId, features);
+        index.update(resumeId, features);
+    }
+
+    private void delete(long resumeId) {
+        corpus.remove(resumeId);
+        corpusStatistics.removeResume(resumeId);
+        index.remove(resumeId);
+    }
+
+    private void record(long resumeId, MatchFeaturesService.Features features) {
+        corpusStatistics.record(new CorpusStatistics.Document(new CorpusStatistics.DocumentKey(false, resumeId),
+            features.keywords().terms(), features.keywords().totalCount(), features.version()));
+    }
+
+    // Terms are skewed towards the low ids of one topic, so some are common and most are rare
+    private MatchFeaturesService.Features features(int tokens, int skills) {
+        int topic = random.nextInt(TOPICS);
+        int[] keywordIds = new int[tokens];
+        for (int i = 0; i < tokens; i++) {
+            keywordIds[i] = termDictionary.intern("keyword-" + skewed(topic, KEYWORDS));
+        }
+        int[] skillIds = new int[skills];
+        for (int i = 0; i < skills; i++) {
+            skillIds[i] = termDictionary.intern("skill-" + skewed(topic, SKILLS));
+        }
+        TermFrequencies keywords = TermFrequencies.of(keywordIds, tokens);
+        TermSet sectionTerms = TermSet.of(keywordIds, tokens / 3);
+
+        float[] embedding = randomVector();
+        for (int d = 0; d < DIMENSIONS; d++) {
+            embedding[d] += 2 * topics[topic][d];
+        }
+        return new MatchFeaturesService.Features(++version, TermSet.of(skillIds, skills), Map.of(), keywords,
+            sectionTerms, HashedEmbedding.normalize(embedding), 0L);
+    }
+
+    private int skewed(int topic, int vocabulary) {
+        double r = random.nextDouble();
+        return (topic * vocabulary / TOPICS + (int) (vocabulary * r * r)) % vocabulary;
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return HashedEmbedding.normalize(vector);
+    }
+
+    // The graph is built in the background after a rebuild; until then no resume is seeded
+    private void awaitSemanticIndex() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (index.semanticTopK(topics[0], 1).isEmpty()) {
+            assertThat(System.currentTimeMillis()).as("semantic index built").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.resume.builder.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that skills which are also common words are only recognized in skill lists, against the
+ * bundled dictionary and taxonomy.
+ */
+class SkillMatcherTest {
+
+    private static final Set<String> COMMON_WORDS = Set.of("less", "rust", "swift", "dart", "julia", "spark",
+        "hive", "pig", "puppet", "jest", "mocha", "security", "golang", "node.js");
+
+    private SkillMatcher skillMatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SkillTaxonomy taxonomy = new SkillTaxonomy(new ClassPathResource("skill-taxonomy.txt"), false);
+        skillMatcher = new SkillMatcher(taxonomy, new ClassPathResource("skills.txt"), 2, 0.8);
+    }
+
+    @Test
+    void proseDoesNotProduceCommonWordSkills() {
+        String prose = """
+            We need no less than 5 years of Java in a swift, hive of activity where new ideas spark
+            joy and nobody is a guinea pig. Job security, a puppet show in jest, a mocha at each node
+            and a dart board help us go beyond; Julia from HR will rust-proof your onboarding.
+            """;
+
+        Set<String> skills = skillMatcher.findSkills(prose);
+
+        assertThat(skills).contains("java").doesNotContainAnyElementsOf(COMMON_WORDS);
+    }
+
+    @Test
+    void unambiguousNamesOfCommonWordSkillsAreStillFoundInProse() {
+        assertThat(skillMatcher.findSkills("Built pipelines with PySpark and services in Golang"))
+            .contains("spark", "golang");
+    }
+
+    @Test
+    void skillListsResolveCommonWordSkills() {
+        assertThat(skillMatcher.resolve("Less").canonicalName()).isEqualTo("less");
+        assertThat(skillMatcher.resolve("Spark").canonicalName()).isEqualTo("spark");
+        assertThat(skillMatcher.resolve("Go").canonicalName()).isEqualTo("golang");
+
+        SkillMatcher.Resolution misspelled = skillMatcher.resolve("securty");
+        assertThat(misspelled.canonicalName()).isEqualTo("security");
+        assertThat(misspelled.confidence()).isLessThan(1.0);
+    }
+}
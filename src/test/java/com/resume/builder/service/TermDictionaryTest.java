@@ -0,0 +1,112 @@
+package com.resume.builder.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the lock-free lookups of {@link TermDictionary} while other threads intern terms and the
+ * table is resized several times over.
+ */
+class TermDictionaryTest {
+
+    private static final int THREADS = 8;
+    // Well past the 1024 terms at which the initial table first grows
+    private static final int TERMS = 20_000;
+    private static final int PRELOADED = 500;
+
+    @Test
+    void concurrentInternsAssignOneStableIdPerTerm() throws Exception {
+        TermDictionary dictionary = new TermDictionary();
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < TERMS; i++) {
+            terms.add("term-" + i);
+        }
+        int[] preloaded = new int[PRELOADED];
+        for (int i = 0; i < PRELOADED; i++) {
+            preloaded[i] = dictionary.intern(terms.get(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean interning = new AtomicBoolean(true);
+        try {
+            // Every writer interns every term in its own order, so the same term races between threads
+            List<Future<int[]>> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(t);
+                writers.add(executor.submit(() -> {
+                    List<Integer> order = new ArrayList<>();
+                    for (int i = 0; i < TERMS; i++) {
+                        order.add(i);
+                    }
+                    Collections.shuffle(order, random);
+                    start.await();
+                    int[] ids = new int[TERMS];
+                    for (int i : order) {
+                        String term = terms.get(i);
+                        ids[i] = random.nextBoolean() ? dictionary.intern(term) : dictionary.intern(term.toCharArray(), term.length());
+                        // A term is found under its id as soon as it is interned
+                        assertThat(dictionary.find(term)).isEqualTo(ids[i]);
+                    }
+                    return ids;
+                }));
+            }
+            // Terms interned before the race keep their ids through every resize
+            Future<Integer> reader = executor.submit(() -> {
+                start.await();
+                int lookups = 0;
+                while (interning.get()) {
+                    for (int i = 0; i < PRELOADED; i++) {
+                        char[] chars = terms.get(i).toCharArray();
+                        assertThat(dictionary.find(terms.get(i))).isEqualTo(preloaded[i]);
+                        assertThat(dictionary.find(chars, chars.length)).isEqualTo(preloaded[i]);
+                        lookups++;
+                    }
+                }
+                return lookups;
+            });
+
+            start.countDown();
+            List<int[]> results = new ArrayList<>();
+            for (Future<int[]> writer : writers) {
+                results.add(writer.get(60, TimeUnit.SECONDS));
+            }
+            interning.set(false);
+            assertThat(reader.get(60, TimeUnit.SECONDS)).isPositive();
+
+            int[] ids = results.get(0);
+            for (int[] other : results) {
+                assertThat(other).isEqualTo(ids);
+            }
+            Set<Integer> distinct = new HashSet<>();
+            for (int i = 0; i < TERMS; i++) {
+                assertThat(distinct.add(ids[i])).as("id of %s is unique", terms.get(i)).isTrue();
+                assertThat(ids[i]).isBetween(0, TERMS - 1);
+                assertThat(dictionary.term(ids[i])).isEqualTo(terms.get(i));
+                assertThat(dictionary.find(terms.get(i))).isEqualTo(ids[i]);
+            }
+            for (int i = 0; i < PRELOADED; i++) {
+                assertThat(ids[i]).isEqualTo(preloaded[i]);
+            }
+            assertThat(dictionary.size()).isEqualTo(TERMS);
+            assertThat(dictionary.find("never-interned")).isEqualTo(-1);
+        } finally {
+            interning.set(false);
+            executor.shutdownNow();
+        }
+    }
+}